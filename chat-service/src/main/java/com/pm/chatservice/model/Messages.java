@@ -1,6 +1,6 @@
 package com.pm.chatservice.model;
 
-
+import com.pm.common.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -12,7 +12,7 @@ import java.util.UUID;
 public class Messages {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID message_id;
 
     @Column
@@ -0,0 +1,103 @@
+package com.pm.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a uuid-keyed table that keeps growing across iterations, v4 against v7 keys
+ *
+ * - Defaults to in-memory H2; point it at Postgres for numbers that matter:
+ *   -Djmh.args="UuidInsert -p url=jdbc:postgresql://localhost:5432/bench -p user=postgres -p password=..."
+ * - On Postgres the primary key index size and row count are printed at the end of each trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    private String keys;
+
+    @Param("jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1")
+    private String url;
+
+    @Param("sa")
+    private String user;
+
+    @Param("")
+    private String password;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> keySupplier;
+
+    @Setup
+    public void setUp() throws SQLException {
+        keySupplier = "v7".equals(keys) ? UuidV7::next : UUID::randomUUID;
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_bench");
+            statement.execute("CREATE TABLE uuid_bench (id UUID PRIMARY KEY, created_at TIMESTAMP NOT NULL, payload VARCHAR(64))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO uuid_bench (id, created_at, payload) VALUES (?, CURRENT_TIMESTAMP, ?)");
+    }
+
+    // One committed batch of rows; the score is rows per second
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, keySupplier.get());
+            insert.setString(2, "focus session payload");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (url.startsWith("jdbc:postgresql:")) {
+                try (ResultSet sizes = statement.executeQuery(
+                        "SELECT pg_relation_size('uuid_bench_pkey'), (SELECT COUNT(*) FROM uuid_bench)")) {
+                    sizes.next();
+                    System.out.printf("%n%s keys: %d rows, primary key index %d kB%n",
+                            keys, sizes.getLong(2), sizes.getLong(1) / 1024);
+                }
+            }
+            statement.execute("DROP TABLE uuid_bench");
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+}
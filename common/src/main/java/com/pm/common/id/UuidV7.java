@@ -0,0 +1,44 @@
+package com.pm.common.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562)
+ *
+ * - 48-bit Unix millisecond timestamp, then a 12-bit counter, then 62 random bits
+ * - Ids from this JVM are strictly increasing: within one millisecond the counter advances,
+ *   and if it overflows the timestamp field runs slightly ahead of the clock until it catches up
+ * - New keys land at the right edge of a B-tree index instead of a random page
+ * - The random bits come from ThreadLocalRandom: ids are unique and ordered, not unguessable,
+ *   so never use them as secrets or invite codes
+ */
+public final class UuidV7 {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndCounter = lastTimeAndCounter.updateAndGet(last -> now > last ? now : last + 1);
+        long mostSigBits = ((timeAndCounter >>> 12) << 16) | VERSION_7 | (timeAndCounter & 0xFFFL);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // Milliseconds since the epoch encoded in a version 7 id
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,70 @@
+package com.pm.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Tests {
+
+    @Test
+    void idsAreVersion7AndCarryTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = UuidV7.timestampMillis(id);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(UUID.randomUUID()));
+    }
+
+    @Test
+    void idsStrictlyIncreaseInStringAndByteOrder() {
+        List<UUID> ids = new ArrayList<>();
+        // Far more than 4096 per millisecond, so the counter overflows into the timestamp
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.next());
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            // Postgres and H2 compare uuid columns as unsigned bytes, which matches the text form
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0, "at " + i);
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws InterruptedException {
+        ConcurrentLinkedQueue<UUID> ids = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(UuidV7.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Set<UUID> distinct = new HashSet<>(ids);
+        assertEquals(160_000, distinct.size());
+        // The time-and-counter field alone is unique across threads
+        Set<Long> prefixes = new HashSet<>();
+        ids.forEach(id -> prefixes.add(id.getMostSignificantBits()));
+        assertEquals(160_000, prefixes.size());
+        assertTrue(Collections.min(prefixes) > 0);
+    }
+}
@@ -0,0 +1,210 @@
+package com.pm.sessionservice.Load;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.SessionServiceApplication;
+import jakarta.servlet.Filter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load on the session read endpoints, platform-thread Tomcat against the virtual-threads profile
+ *
+ * - Each mode boots the service on a random port with its own in-memory H2 and the same JDBC pool size,
+ *   so only the request threading differs
+ * - remote-latency adds a blocking sleep to every request, standing in for the upcoming user-service and
+ *   task-service calls; with it at 0 both modes are CPU-bound and should score about the same
+ * - clients concurrent callers (virtual threads) alternate GET /{id}/progress and GET /current
+ *   for warmup + seconds; only the measured window is reported
+ * - Client and server share the machine, so compare the two modes with each other, not with production
+ *
+ * Arguments are key=value: mode=both|platform|virtual clients=400 seconds=20 warmup=5 sessions=200
+ * remote-latency=20 (ms) pool=40
+ */
+public class SessionEndpointLoadScenario {
+
+    public static void main(String[] args) throws Exception {
+        // devtools is on the classpath and would relaunch each context in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = parse(args);
+        String mode = options.getOrDefault("mode", "both");
+        List<String> modes = "both".equals(mode) ? List.of("platform", "virtual") : List.of(mode);
+
+        List<String> results = new ArrayList<>();
+        for (String current : modes) {
+            results.add(run(current, options));
+        }
+        System.out.println();
+        System.out.printf("%-9s %10s %10s %9s %9s %9s %8s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, Map<String, String> options) throws Exception {
+        int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int sessions = Integer.parseInt(options.getOrDefault("sessions", "200"));
+        String pool = options.getOrDefault("pool", "40");
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SessionServiceApplication.class, RemoteLatency.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + pool,
+                        "load.remote-latency=" + options.getOrDefault("remote-latency", "20"));
+        if ("virtual".equals(mode)) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<UUID[]> targets = seed(context.getBean(SessionService.class), sessions);
+            System.out.printf("%s: %d sessions seeded, %d clients for %ds after %ds warmup%n",
+                    mode, sessions, clients, seconds, warmup);
+            return drive(mode, port, targets, clients, warmup, seconds);
+        }
+    }
+
+    // One ACTIVE session per owner, so /current always resolves; returns {sessionId, ownerId}
+    private static List<UUID[]> seed(SessionService sessionService, int sessions) {
+        List<UUID[]> targets = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            UUID ownerId = UUID.randomUUID();
+            SessionRequestDTO request = new SessionRequestDTO();
+            request.setOwnerUsername("load");
+            request.setSessionName("Load " + i);
+            targets.add(new UUID[]{sessionService.createSession(request, ownerId).getSessionId(), ownerId});
+        }
+        return targets;
+    }
+
+    private static String drive(String mode, int port, List<UUID[]> targets, int clients, int warmup, int seconds)
+            throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        int[] counts = new int[clients];
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                int client = c;
+                callers.execute(() -> {
+                    long[] buffer = samples;
+                    int recorded = 0;
+                    boolean progress = client % 2 == 0;
+                    while (System.nanoTime() < stopAt) {
+                        UUID[] target = targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+                        String path = progress ? "/api/sessions/" + target[0] + "/progress" : "/api/sessions/current";
+                        progress = !progress;
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .header("X-User-ID", target[1].toString())
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                        if (recorded == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                            latencies.set(client, buffer);
+                        }
+                        buffer[recorded++] = end - start;
+                        counts[client] = recorded;
+                    }
+                });
+            }
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return String.format("%-9s %10d %10.0f %9.1f %9.1f %9.1f %8d", mode, total, total / (double) seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99),
+                total == 0 ? 0 : all[total - 1] / 1e6, errors.get());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split > 0) {
+                options.put(arg.substring(0, split), arg.substring(split + 1));
+            }
+        }
+        return options;
+    }
+
+    // Stand-in for the blocking remote calls the handlers will make
+    @Configuration
+    static class RemoteLatency {
+
+        @Bean
+        FilterRegistrationBean<Filter> remoteLatencyFilter(Environment environment) {
+            long latencyMillis = environment.getProperty("load.remote-latency", Long.class, 0L);
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                if (latencyMillis > 0) {
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/api/*");
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pm.sessionservice.Mapper;
+
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Repository.StubSessionProgressView;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mapping cost for the DTOs returned on every session read
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionMapperBenchmark {
+
+    @Param({"0", "10"})
+    private int tasks;
+
+    private SessionMapper sessionMapper;
+    private Session session;
+    private StubSessionProgressView progressView;
+
+    @Setup
+    public void setUp() {
+        sessionMapper = new SessionMapperImpl();
+        session = new Session();
+        session.setSessionId(UUID.randomUUID());
+        session.setOwnerId(UUID.randomUUID());
+        session.setOwnerUsername("owner");
+        session.setSessionName("Deep work");
+        session.setDescription("Benchmark session");
+        session.setStatus(SessionStatus.ACTIVE);
+        session.setCurrentType(SessionType.WORK);
+        session.setCreatedAt(LocalDateTime.now().minusMinutes(50));
+        session.setUpdatedAt(LocalDateTime.now());
+        session.setStartTime(LocalDateTime.now().minusMinutes(50));
+        session.setCurrentPhaseStartTime(LocalDateTime.now().minusMinutes(10));
+        session.setCurrentDurationMinutes(25);
+        session.setInviteCode("abcd1234");
+        session.setMaxParticipants(10);
+        progressView = StubSessionProgressView.running(4, tasks);
+    }
+
+    @Benchmark
+    public SessionResponseDTO toResponseDTO() {
+        return sessionMapper.toResponseDTO(session);
+    }
+
+    @Benchmark
+    public SessionProgressDTO toProgressDTOFromEntity() {
+        return sessionMapper.toProgressDTO(session);
+    }
+
+    @Benchmark
+    public SessionProgressDTO toProgressDTOFromView() {
+        return sessionMapper.toProgressDTO(progressView);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pm.sessionservice.Repository;
+
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Plain-object SessionProgressView standing in for the JPA projection in benchmarks
+@Data
+public class StubSessionProgressView implements SessionProgressView {
+    private UUID sessionId;
+    private String sessionName;
+    private SessionStatus status;
+    private SessionType currentType;
+    private LocalDateTime startTime;
+    private LocalDateTime currentPhaseStartTime;
+    private Integer currentDurationMinutes;
+    private Integer totalWorkSessionsCompleted;
+    private Boolean isWaitingForBreakSelection;
+    private Integer shortBreakMinutes;
+    private Integer longBreakMinutes;
+    private UUID ownerId;
+    private String ownerUsername;
+    private String activeParticipantIds;
+    private Long taskCount;
+
+    // A running WORK phase with the given number of active participants and tasks
+    public static StubSessionProgressView running(int participants, int tasks) {
+        StubSessionProgressView view = new StubSessionProgressView();
+        view.setSessionId(UUID.randomUUID());
+        view.setSessionName("Deep work");
+        view.setStatus(SessionStatus.ACTIVE);
+        view.setCurrentType(SessionType.WORK);
+        view.setStartTime(LocalDateTime.now().minusMinutes(50));
+        view.setCurrentPhaseStartTime(LocalDateTime.now().minusMinutes(10));
+        view.setCurrentDurationMinutes(25);
+        view.setTotalWorkSessionsCompleted(2);
+        view.setIsWaitingForBreakSelection(false);
+        view.setShortBreakMinutes(5);
+        view.setLongBreakMinutes(15);
+        view.setOwnerId(UUID.randomUUID());
+        view.setOwnerUsername("owner");
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < participants; i++) {
+            if (i > 0) {
+                ids.append(',');
+            }
+            ids.append(UUID.randomUUID());
+        }
+        view.setActiveParticipantIds(participants == 0 ? null : ids.toString());
+        view.setTaskCount((long) tasks);
+        return view;
+    }
+}
@@ -0,0 +1,91 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.Exception.InvalidSessionDataException;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.SessionServiceApplication;
+import com.pm.sessionservice.model.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Join/leave throughput on one hot session, the contention SessionAdmissionConcurrencyTests checks for correctness
+ *
+ * - Boots the service without a web server on its own in-memory H2
+ * - 32 threads churn on a room with 8 slots, so most joins are rejected once it fills, as in the full-room test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class SessionAdmissionBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SessionService sessionService;
+    private Session session;
+
+    @Setup
+    public void setUp() {
+        // devtools is on the classpath and would relaunch the context in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(SessionServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:admission-bench;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+                .run();
+        sessionService = context.getBean(SessionService.class);
+
+        Session room = SessionFixtures.activeSession(UUID.randomUUID());
+        room.setSessionName("Popular room");
+        room.setMaxParticipants(8);
+        session = context.getBean(SessionRepository.class).save(room);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Participant {
+
+        UUID userId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            userId = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public boolean joinThenLeave(Participant participant) {
+        try {
+            sessionService.joinSession(session.getSessionId(), participant.userId, session.getInviteCode());
+            sessionService.leaveSession(session.getSessionId(), participant.userId);
+            return true;
+        } catch (SessionAccessDeniedException | InvalidSessionDataException e) {
+            // Room full, or leaving would drop below the minimum
+            return false;
+        }
+    }
+}
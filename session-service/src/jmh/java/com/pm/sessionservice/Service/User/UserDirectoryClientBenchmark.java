@@ -0,0 +1,79 @@
+package com.pm.sessionservice.Service.User;
+
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput of the user-directory client against the stub backend with per-call latency
+ *
+ * - 64 callers pick from a pool of IDs; the near cache is cleared every iteration so lookups keep
+ *   reaching the coalescing and batching path instead of only the cache
+ * - Backend calls per iteration are printed on teardown to compare batching between settings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class UserDirectoryClientBenchmark {
+
+    @Param({"5"})
+    private long stubLatencyMillis;
+
+    @Param({"100"})
+    private int maxBatchSize;
+
+    @Param({"5000"})
+    private int distinctUsers;
+
+    private StubUserDirectoryBackend backend;
+    private UserDirectoryClient client;
+    private UUID[] userIds;
+    private long callsBefore;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UserDirectoryProperties properties = new UserDirectoryProperties();
+        properties.setStubLatency(Duration.ofMillis(stubLatencyMillis));
+        properties.setMaxBatchSize(maxBatchSize);
+        backend = new StubUserDirectoryBackend(properties);
+        client = new UserDirectoryClient(backend, properties, new SimpleMeterRegistry());
+        userIds = new UUID[distinctUsers];
+        for (int i = 0; i < distinctUsers; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+        callsBefore = backend.getCalls();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        System.out.printf("  %d backend calls for %d IDs%n", backend.getCalls() - callsBefore, backend.getLookedUpIds());
+        client.shutdown();
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return client.getUsername(userIds[ThreadLocalRandom.current().nextInt(userIds.length)]);
+    }
+}
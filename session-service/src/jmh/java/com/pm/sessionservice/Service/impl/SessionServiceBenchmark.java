@@ -0,0 +1,119 @@
+package com.pm.sessionservice.Service.impl;
+
+import com.pm.sessionservice.Config.ProgressEnrichmentProperties;
+import com.pm.sessionservice.Config.TaskDirectoryProperties;
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.Mapper.SessionMapperImpl;
+import com.pm.sessionservice.Repository.SessionProgressView;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.StubSessionProgressView;
+import com.pm.sessionservice.Service.Enrichment.SessionProgressEnricher;
+import com.pm.sessionservice.Service.Task.StubTaskDirectoryBackend;
+import com.pm.sessionservice.Service.User.StubUserDirectoryBackend;
+import com.pm.sessionservice.Service.User.UserDirectoryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-side cost of the progress read path and its helpers, with the database replaced by a map
+ *
+ * getSessionProgress runs the real service code (view parsing, access check, mapping, time
+ * calculations, logging at the level set in src/jmh/resources) against an in-memory repository.
+ * Enrichment runs against the zero-latency stub backends, so it measures the fan-out overhead only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int participants;
+
+    private SessionServiceImpl sessionService;
+    private StubSessionProgressView view;
+    private UUID participantId;
+    private LocalDateTime startTime;
+    private LocalDateTime phaseStartTime;
+    private UserDirectoryClient userDirectoryClient;
+    private SessionProgressEnricher progressEnricher;
+
+    @Setup
+    public void setUp() {
+        view = StubSessionProgressView.running(participants, 8);
+        participantId = UUID.fromString(view.getActiveParticipantIds().split(",")[participants - 1]);
+        startTime = view.getStartTime();
+        phaseStartTime = view.getCurrentPhaseStartTime();
+
+        UserDirectoryProperties userDirectoryProperties = new UserDirectoryProperties();
+        userDirectoryClient = new UserDirectoryClient(new StubUserDirectoryBackend(userDirectoryProperties),
+                userDirectoryProperties, new SimpleMeterRegistry());
+        progressEnricher = new SessionProgressEnricher(userDirectoryClient,
+                new StubTaskDirectoryBackend(new TaskDirectoryProperties()), new ProgressEnrichmentProperties(),
+                new SimpleMeterRegistry());
+
+        // Only the collaborators getSessionProgress touches are provided
+        sessionService = new SessionServiceImpl(inMemoryRepository(Map.of(view.getSessionId(), view)),
+                null, null, null, new SessionMapperImpl(), null, null, null, null, null, null, null, null,
+                progressEnricher, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        progressEnricher.shutdown();
+        userDirectoryClient.shutdown();
+    }
+
+    @Benchmark
+    public SessionProgressDTO getSessionProgress() {
+        return sessionService.getSessionProgress(view.getSessionId(), participantId);
+    }
+
+    @Benchmark
+    public Duration calculateTimeRemainingInPhase() {
+        return sessionService.calculateTimeRemainingInPhase(phaseStartTime, 25);
+    }
+
+    @Benchmark
+    public Duration calculateTotalElapsedTime() {
+        return sessionService.calculateTotalElapsedTime(startTime);
+    }
+
+    @Benchmark
+    public String generateInviteCode() {
+        return sessionService.generateInviteCode();
+    }
+
+    // Repository stand-in: answers the progress projection from a map, rejects everything else
+    private static SessionRepository inMemoryRepository(Map<UUID, SessionProgressView> views) {
+        return (SessionRepository) Proxy.newProxyInstance(SessionRepository.class.getClassLoader(),
+                new Class<?>[]{SessionRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findProgressView")) {
+                        return Optional.ofNullable(views.get((UUID) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName() + " is not available in the benchmark");
+                });
+    }
+}
@@ -0,0 +1,18 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.active-registry")
+public class ActiveSessionRegistryProperties {
+    //Upper bound on users whose active session (or lack of one) is remembered
+    private long maximumSize = 50_000;
+
+    //Safety net: entries are re-checked against the database after this long
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
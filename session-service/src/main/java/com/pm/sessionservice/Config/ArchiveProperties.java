@@ -0,0 +1,22 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.archive")
+public class ArchiveProperties {
+    //Finished or deleted sessions stay in the hot tables this long after their last change
+    private Duration archiveAfter = Duration.ofDays(1);
+
+    //How often an archival run starts
+    private Duration runInterval = Duration.ofMinutes(5);
+
+    //Sessions moved per transaction, and the most batches one run will take
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 20;
+}
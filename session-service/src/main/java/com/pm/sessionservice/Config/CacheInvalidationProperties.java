@@ -0,0 +1,28 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.cache-invalidation")
+public class CacheInvalidationProperties {
+    //Publish and LISTEN for session invalidations over PostgreSQL NOTIFY; only needed with more than one replica
+    private boolean enabled = false;
+
+    //NOTIFY channel shared by every replica
+    private String channel = "session_invalidations";
+
+    //Invalidations committed within this window go out together
+    private Duration batchWindow = Duration.ofMillis(20);
+
+    //Session ids per NOTIFY; payloads are capped at 8000 bytes and each id takes 37
+    private int maxIdsPerNotification = 100;
+
+    //How long the listener blocks for notifications per poll, and waits before reconnecting after a failure
+    private Duration listenTimeout = Duration.ofMillis(500);
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+}
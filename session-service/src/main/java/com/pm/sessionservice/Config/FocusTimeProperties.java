@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.focus-time")
+public class FocusTimeProperties {
+    //How often accumulated participant focus time is written back
+    private Duration flushInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,26 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.outbox")
+public class OutboxProperties {
+    //Where relayed events go: "kafka" in production, "in-process" otherwise
+    private String sink = "in-process";
+    private String topic = "session-events";
+
+    //Sessions are hashed into this many independently drained partitions (changing it reorders in-flight events)
+    private int partitions = 16;
+
+    //Rows published per sink call and how often an idle relay polls
+    private int batchSize = 500;
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    //Upper bound on waiting for the sink to acknowledge a batch
+    private Duration publishTimeout = Duration.ofSeconds(10);
+}
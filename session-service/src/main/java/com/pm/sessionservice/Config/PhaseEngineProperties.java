@@ -0,0 +1,21 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.phase-engine")
+public class PhaseEngineProperties {
+    //Resolution of phase deadlines
+    private Duration tickDuration = Duration.ofSeconds(1);
+
+    //Buckets per wheel revolution (rounded up to a power of two)
+    private int wheelSize = 512;
+
+    //Threads applying expired phase transitions to the database
+    private int transitionThreads = 4;
+}
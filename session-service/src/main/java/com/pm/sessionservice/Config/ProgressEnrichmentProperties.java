@@ -0,0 +1,18 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.progress-enrichment")
+public class ProgressEnrichmentProperties {
+    //How long progress waits for participant usernames from user-service before answering without them
+    private Duration userDirectoryDeadline = Duration.ofMillis(300);
+
+    //How long progress waits for completed tasks from task-service before answering without them
+    private Duration taskDirectoryDeadline = Duration.ofMillis(300);
+}
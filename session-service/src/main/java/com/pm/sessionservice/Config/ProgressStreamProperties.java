@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.progress-stream")
+public class ProgressStreamProperties {
+    //How long a single SSE connection is kept open before the client reconnects
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
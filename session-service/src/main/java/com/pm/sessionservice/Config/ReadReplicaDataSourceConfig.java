@@ -0,0 +1,67 @@
+package com.pm.sessionservice.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary/replica split, enabled with session.read-replica.enabled=true
+ *
+ * The primary pool is built from spring.datasource as before; @Transactional(readOnly = true)
+ * methods (progress, break options, participants, tasks, history) are served by the replica pool
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "session.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(ReadReplicaProperties properties) {
+        return new ReadYourWritesGuard(properties);
+    }
+
+    @Bean
+    public RequestUserFilter requestUserFilter(ReadYourWritesGuard readYourWritesGuard) {
+        return new RequestUserFilter(readYourWritesGuard);
+    }
+
+    // spring.datasource.* as before, so existing pool settings keep applying to the primary
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("session-primary");
+        return primary;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("session-replica");
+        replica.setJdbcUrl(properties.getUrl());
+        replica.setUsername(properties.getUsername());
+        replica.setPassword(properties.getPassword());
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    // What JPA and everything else uses: the connection is resolved lazily, once the transaction's readOnly flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesGuard readYourWritesGuard) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesGuard));
+    }
+}
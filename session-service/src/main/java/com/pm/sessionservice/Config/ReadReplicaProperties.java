@@ -0,0 +1,27 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.read-replica")
+public class ReadReplicaProperties {
+    //Route readOnly transactions to the replica pool; off means everything uses spring.datasource
+    private boolean enabled = false;
+
+    //Replica connection (a load balancer in front of several replicas, or a single one)
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 20;
+
+    //After a user writes, their reads stay on the primary this long (must exceed worst expected replica lag)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    //Upper bound on users tracked as recent writers
+    private long maximumTrackedWriters = 100_000;
+}
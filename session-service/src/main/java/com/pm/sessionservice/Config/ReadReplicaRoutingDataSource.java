@@ -0,0 +1,38 @@
+package com.pm.sessionservice.Config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends readOnly transactions to the replica pool and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched after
+ * the transaction's readOnly flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWritesGuard.mustReadFromPrimary() ? Target.PRIMARY : Target.REPLICA;
+        }
+        // Non-transactional access (pool probes, autocommit statements) uses the primary without marking anyone
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            readYourWritesGuard.recordWrite();
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pm.sessionservice.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.UUID;
+
+/**
+ * Staleness guard for replica reads
+ *
+ * - The calling user is bound to the request thread (RequestUserFilter)
+ * - Any read-write transaction marks that user as a recent writer
+ * - A recent writer's readOnly transactions go to the primary until the window passes,
+ *   so a client always sees its own mutations; everyone else reads from the replica
+ * - Tracking is per instance: it holds as long as a user's requests reach the same instance
+ *   within the window, otherwise the window bounds how stale a read can be
+ */
+public class ReadYourWritesGuard {
+
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(ReadReplicaProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTrackedWriters())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    public void bind(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public void clear() {
+        CURRENT_USER.remove();
+    }
+
+    public void recordWrite() {
+        UUID userId = CURRENT_USER.get();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        UUID userId = CURRENT_USER.get();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
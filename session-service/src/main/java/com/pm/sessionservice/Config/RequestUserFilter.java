@@ -0,0 +1,42 @@
+package com.pm.sessionservice.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+// Binds the caller's X-User-ID to the request thread for the read-your-writes guard
+public class RequestUserFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public RequestUserFilter(ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWritesGuard.bind(parseUserId(request.getHeader("X-User-ID")));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesGuard.clear();
+        }
+    }
+
+    private UUID parseUserId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(header.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
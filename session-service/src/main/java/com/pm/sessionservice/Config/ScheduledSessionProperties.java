@@ -0,0 +1,19 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.scheduled")
+public class ScheduledSessionProperties {
+    //How often each replica polls the due queue; bounds how late a scheduled session starts
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    //Due sessions locked and started per transaction, and the most batches one poll will take
+    private int batchSize = 200;
+    private int maxBatchesPerPoll = 50;
+}
@@ -0,0 +1,29 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.actors")
+public class SessionActorProperties {
+    //Run live-session mutations through one serial mailbox per session; off means each request runs its own transaction
+    private boolean enabled = false;
+
+    //Mutations queued for the same session that are applied in one transaction
+    private int maxBatchSize = 32;
+
+    //Queued mutations per session before new ones are rejected
+    private int mailboxCapacity = 1000;
+
+    //This replica's id and every replica's id -> base URL; empty means this replica owns every session
+    private String replicaId = "local";
+    private Map<String, String> replicas = new LinkedHashMap<>();
+
+    //Points per replica on the hash ring; more points spread sessions more evenly
+    private int virtualNodes = 128;
+}
@@ -0,0 +1,29 @@
+package com.pm.sessionservice.Config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actor mode only: a batch of session mutations shares one transaction, and each mutation
+ * is a @Transactional call that joins it
+ *
+ * By default a joined call that throws marks the whole transaction rollback-only, so one bad
+ * mutation would sink its batch. SessionActors rolls a failed mutation back to its own savepoint
+ * and then decides on the commit itself; SessionBatchTransactionManager leaves that decision to it
+ * for batch mutations only, every other transaction keeps the default.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "session.actors", name = "enabled", havingValue = "true")
+public class SessionActorTransactionConfig {
+
+    // Takes the place of Boot's JpaTransactionManager; the entity manager factory is resolved the same way
+    @Bean
+    public SessionBatchTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        SessionBatchTransactionManager transactionManager = new SessionBatchTransactionManager();
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+}
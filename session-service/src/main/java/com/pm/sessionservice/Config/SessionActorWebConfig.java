@@ -0,0 +1,26 @@
+package com.pm.sessionservice.Config;
+
+import com.pm.sessionservice.Service.Actor.SessionOwnership;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Actor mode only: session mutations are routed to the owning replica
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "session.actors", name = "enabled", havingValue = "true")
+public class SessionActorWebConfig implements WebMvcConfigurer {
+
+    private final SessionOwnership sessionOwnership;
+
+    public SessionActorWebConfig(SessionOwnership sessionOwnership) {
+        this.sessionOwnership = sessionOwnership;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SessionOwnershipInterceptor(sessionOwnership)).addPathPatterns("/api/sessions/**");
+    }
+}
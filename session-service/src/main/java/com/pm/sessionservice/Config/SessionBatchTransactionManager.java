@@ -0,0 +1,40 @@
+package com.pm.sessionservice.Config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.function.Supplier;
+
+/**
+ * The application's JPA transaction manager in actor mode
+ *
+ * - Behaves exactly like JpaTransactionManager everywhere else: a @Transactional call that joins
+ *   a transaction and throws marks the whole transaction rollback-only
+ * - Except for a mutation SessionActors runs inside its batch (runBatchMutation): that one is rolled
+ *   back to its own savepoint by SessionActors, so its failure must not sink the rest of the batch
+ * - An explicit setRollbackOnly still marks the batch, as it would with globalRollbackOnParticipationFailure off
+ */
+public class SessionBatchTransactionManager extends JpaTransactionManager {
+
+    private static final ThreadLocal<Boolean> IN_BATCH_MUTATION = new ThreadLocal<>();
+
+    /**
+     * Runs one mutation of a batch; the caller rolls it back to a savepoint if it throws.
+     */
+    public <T> T runBatchMutation(Supplier<T> mutation) {
+        IN_BATCH_MUTATION.set(Boolean.TRUE);
+        try {
+            return mutation.get();
+        } finally {
+            IN_BATCH_MUTATION.remove();
+        }
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        if (IN_BATCH_MUTATION.get() != null && !status.isLocalRollbackOnly()) {
+            return;
+        }
+        super.doSetRollbackOnly(status);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.cache")
+public class SessionCacheProperties {
+    //Upper bound on cached ACTIVE/PAUSED sessions
+    private long maximumSize = 10_000;
+
+    //How long a cached session stays valid after it was last written
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.metrics")
+public class SessionMetricsProperties {
+    //How often the live-session gauges are re-counted from the database
+    private Duration gaugeRefreshInterval = Duration.ofSeconds(30);
+}
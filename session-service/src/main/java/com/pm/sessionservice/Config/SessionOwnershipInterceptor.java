@@ -0,0 +1,51 @@
+package com.pm.sessionservice.Config;
+
+import com.pm.sessionservice.Service.Actor.SessionOwnership;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Sends session mutations to the replica that owns the session's actor (307 keeps method and body); reads are served anywhere
+public class SessionOwnershipInterceptor implements HandlerInterceptor {
+
+    private final SessionOwnership sessionOwnership;
+
+    public SessionOwnershipInterceptor(SessionOwnership sessionOwnership) {
+        this.sessionOwnership = sessionOwnership;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null || !pathVariables.containsKey("sessionId")) {
+            return true;
+        }
+        UUID sessionId;
+        try {
+            sessionId = UUID.fromString(pathVariables.get("sessionId"));
+        } catch (IllegalArgumentException e) {
+            return true; // Left to the handler's own argument conversion error
+        }
+        Optional<String> ownerUrl = sessionOwnership.ownerUrl(sessionId);
+        if (ownerUrl.isEmpty()) {
+            return true;
+        }
+        String query = request.getQueryString();
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, ownerUrl.get() + request.getRequestURI() + (query != null ? "?" + query : ""));
+        return false;
+    }
+}
@@ -12,6 +12,10 @@ public class SessionProperties {
     private final int maxAllowedParticipants = 10;
     private final int minAllowedParticipants = 1;
 
+    //Session history paging
+    private final int defaultHistoryPageSize = 20;
+    private final int maxHistoryPageSize = 100;
+
     //Work block config
     private final int minWorkDurationMinutes = 15;
     private final int maxWorkDurationMinutes = 180;
@@ -0,0 +1,22 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.reaper")
+public class SessionReaperProperties {
+    //ACTIVE/PAUSED sessions not modified for this long are ended automatically
+    private Duration idleTimeout = Duration.ofHours(12);
+
+    //How often a sweep starts
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    //Sessions locked and ended per transaction, and the most chunks one sweep will take
+    private int chunkSize = 100;
+    private int maxChunksPerSweep = 50;
+}
@@ -0,0 +1,21 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.windows")
+public class SessionWindowProperties {
+    //Planned length of a session created without plannedDurationMinutes; its window for conflict checks
+    private Duration defaultPlannedDuration = Duration.ofHours(1);
+
+    //Upper bound on users whose live/scheduled session windows are held in memory
+    private long maximumSize = 50_000;
+
+    //Safety net: a user's windows are reloaded from the database after this long
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
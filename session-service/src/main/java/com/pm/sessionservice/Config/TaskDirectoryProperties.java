@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.task-directory")
+public class TaskDirectoryProperties {
+    //Artificial latency of the stub backend, for offline load tests
+    private Duration stubLatency = Duration.ZERO;
+}
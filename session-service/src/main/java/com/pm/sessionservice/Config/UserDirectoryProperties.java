@@ -0,0 +1,26 @@
+package com.pm.sessionservice.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "session.user-directory")
+public class UserDirectoryProperties {
+    //Near cache of userId -> username
+    private long cacheMaximumSize = 100_000;
+    private Duration cacheTimeToLive = Duration.ofMinutes(10);
+
+    //Lookups are collected for at most this long, or until a batch is full, before one GetUsersByIds call
+    private int maxBatchSize = 100;
+    private Duration maxBatchDelay = Duration.ofMillis(2);
+
+    //How long a caller waits for its batch before giving up
+    private Duration requestTimeout = Duration.ofSeconds(2);
+
+    //Artificial latency of the stub backend, for offline load tests
+    private Duration stubLatency = Duration.ZERO;
+}
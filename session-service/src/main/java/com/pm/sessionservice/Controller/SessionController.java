@@ -1,7 +1,9 @@
 package com.pm.sessionservice.Controller;
 
 import com.pm.sessionservice.DTO.*;
+import com.pm.sessionservice.Service.Actor.SessionActors;
 import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.Service.Stream.SessionProgressBroadcaster;
 import com.pm.sessionservice.model.SessionType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,9 +15,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +32,10 @@ import java.util.UUID;
  * Provides complete HTTP API for collaborative pomodoro session management
  * including CRUD operations, lifecycle management, participant management,
  * pomodoro phase control, and real-time progress tracking.
+ *
+ * Session, participant and task reads carry a strong ETag built from the session's version.
+ * If-None-Match is answered with 304 from a version lookup alone. Progress and break options
+ * are not tagged: their remaining/elapsed times change with the clock, not the version.
  */
 @RestController
 @RequestMapping("/api/sessions")
@@ -35,6 +45,8 @@ import java.util.UUID;
 public class SessionController {
 
     private final SessionService sessionService;
+    private final SessionProgressBroadcaster progressBroadcaster;
+    private final SessionActors sessionActors; // serializes mutations per session in actor mode, pass-through otherwise
 
     // ==================== CRUD Operations ====================
 
@@ -66,7 +78,7 @@ public class SessionController {
             @Valid @RequestBody UpdateSessionRequestDTO updateRequest,
             @RequestHeader("X-User-ID") UUID ownerId) {
         
-        SessionResponseDTO response = sessionService.updateSession(sessionId, updateRequest, ownerId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.updateSession(sessionId, updateRequest, ownerId));
         return ResponseEntity.ok(response);
     }
 
@@ -81,7 +93,10 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID ownerId) {
         
-        sessionService.deleteSession(sessionId, ownerId);
+        sessionActors.execute(sessionId, () -> {
+            sessionService.deleteSession(sessionId, ownerId);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
@@ -89,25 +104,57 @@ public class SessionController {
     @Operation(summary = "Get current active session", description = "Retrieves user's current active session")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Active session found"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "No active session")
     })
     public ResponseEntity<SessionResponseDTO> getCurrentActiveSession(
-            @RequestHeader("X-User-ID") UUID userId) {
+            @RequestHeader("X-User-ID") UUID userId,
+            @Parameter(description = "Include the session's task ids") @RequestParam(defaultValue = "false") boolean includeTasks,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        SessionResponseDTO response = sessionService.getCurrentActiveSession(userId);
-        return ResponseEntity.ok(response);
+        if (ifNoneMatch != null) {
+            String currentETag = eTag(sessionService.getCurrentActiveSessionVersion(userId));
+            if (matches(ifNoneMatch, currentETag)) {
+                return notModified(currentETag);
+            }
+        }
+        SessionResponseDTO response = sessionService.getCurrentActiveSession(userId, includeTasks);
+        return ResponseEntity.ok().eTag(eTag(response)).body(response);
     }
 
     @GetMapping("/invite/{inviteCode}")
     @Operation(summary = "Get session by invite code", description = "Looks up session using invite code")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Session found"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Invalid invite code")
     })
     public ResponseEntity<SessionResponseDTO> getSessionByInviteCode(
-            @Parameter(description = "Session invite code") @PathVariable String inviteCode) {
+            @Parameter(description = "Session invite code") @PathVariable String inviteCode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
+        if (ifNoneMatch != null) {
+            String currentETag = eTag(sessionService.getSessionVersionByInviteCode(inviteCode));
+            if (matches(ifNoneMatch, currentETag)) {
+                return notModified(currentETag);
+            }
+        }
         SessionResponseDTO response = sessionService.getSessionByInviteCode(inviteCode);
+        return ResponseEntity.ok().eTag(eTag(response)).body(response);
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "Get session history", description = "Pages through sessions the user owned or joined, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History page retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<SessionHistoryPageDTO> getSessionHistory(
+            @RequestHeader("X-User-ID") UUID userId,
+            @Parameter(description = "Cursor from the previous page's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer limit) {
+
+        SessionHistoryPageDTO response = sessionService.getSessionHistory(userId, cursor, limit);
         return ResponseEntity.ok(response);
     }
 
@@ -125,7 +172,7 @@ public class SessionController {
             @RequestHeader("X-User-ID") UUID userId,
             @RequestBody EndSessionRequestDTO endRequest) {
         
-        SessionResponseDTO response = sessionService.endSession(sessionId, userId, endRequest);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.endSession(sessionId, userId, endRequest));
         return ResponseEntity.ok(response);
     }
 
@@ -136,7 +183,7 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.pauseSession(sessionId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.pauseSession(sessionId, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -147,7 +194,7 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.resumeSession(sessionId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.resumeSession(sessionId, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -177,7 +224,7 @@ public class SessionController {
             @RequestParam String inviteCode,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.joinSession(sessionId, userId, inviteCode);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.joinSession(sessionId, userId, inviteCode));
         return ResponseEntity.ok(response);
     }
 
@@ -188,7 +235,10 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        sessionService.leaveSession(sessionId, userId);
+        sessionActors.execute(sessionId, () -> {
+            sessionService.leaveSession(sessionId, userId);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
@@ -200,19 +250,28 @@ public class SessionController {
             @PathVariable UUID userToRemove,
             @RequestHeader("X-User-ID") UUID ownerId) {
         
-        SessionResponseDTO response = sessionService.removeUser(sessionId, userToRemove, ownerId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.removeUser(sessionId, userToRemove, ownerId));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{sessionId}/participants")
     @Operation(summary = "Get session participants", description = "List all active participants (owner/participants only)")
-    @ApiResponse(responseCode = "200", description = "Participants list retrieved successfully")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Participants list retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
+    })
     public ResponseEntity<List<UUID>> getSessionParticipants(
             @PathVariable UUID sessionId,
-            @RequestHeader("X-User-ID") UUID requesterId) {
+            @RequestHeader("X-User-ID") UUID requesterId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
+        // Version first, list second: a concurrent write can only make the tag older than the body, never newer
+        String currentETag = eTag(sessionService.getSessionVersion(sessionId, requesterId));
+        if (ifNoneMatch != null && matches(ifNoneMatch, currentETag)) {
+            return notModified(currentETag);
+        }
         List<UUID> participants = sessionService.getSessionParticipants(sessionId, requesterId);
-        return ResponseEntity.ok(participants);
+        return ResponseEntity.ok().eTag(currentETag).body(participants);
     }
 
     // ==================== Pomodoro Phase Management ====================
@@ -224,7 +283,7 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.startWorkPhase(sessionId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.startWorkPhase(sessionId, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -236,7 +295,7 @@ public class SessionController {
             @RequestParam SessionType breakType,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.startBreakPhase(sessionId, userId, breakType);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.startBreakPhase(sessionId, userId, breakType));
         return ResponseEntity.ok(response);
     }
 
@@ -247,7 +306,7 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.completeWorkPhase(sessionId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.completeWorkPhase(sessionId, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -258,7 +317,7 @@ public class SessionController {
             @PathVariable UUID sessionId,
             @RequestHeader("X-User-ID") UUID userId) {
         
-        SessionResponseDTO response = sessionService.skipBreak(sessionId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.skipBreak(sessionId, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -275,6 +334,17 @@ public class SessionController {
         return ResponseEntity.ok(progress);
     }
 
+    @GetMapping(value = "/{sessionId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream session progress",
+            description = "Server-sent events: one 'snapshot' event, then 'delta' events when phase, participants or tasks change (owner/participants only)")
+    @ApiResponse(responseCode = "200", description = "Progress stream opened")
+    public SseEmitter streamSessionProgress(
+            @PathVariable UUID sessionId,
+            @RequestHeader("X-User-ID") UUID userId) {
+
+        return progressBroadcaster.subscribe(sessionId, userId);
+    }
+
     @GetMapping("/{sessionId}/break-options")
     @Operation(summary = "Get break options", description = "Available break options and recommendations (owner/participants only)")
     @ApiResponse(responseCode = "200", description = "Break options retrieved successfully")
@@ -294,9 +364,10 @@ public class SessionController {
     public ResponseEntity<SessionResponseDTO> addTaskToSession(
             @PathVariable UUID sessionId,
             @PathVariable UUID taskId,
-            @RequestHeader("X-User-ID") UUID userId) {
+            @RequestHeader("X-User-ID") UUID userId,
+            @Parameter(description = "Include the session's task ids") @RequestParam(defaultValue = "false") boolean includeTasks) {
         
-        SessionResponseDTO response = sessionService.addTaskToSession(sessionId, taskId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.addTaskToSession(sessionId, taskId, userId, includeTasks));
         return ResponseEntity.ok(response);
     }
 
@@ -306,9 +377,10 @@ public class SessionController {
     public ResponseEntity<SessionResponseDTO> removeTaskFromSession(
             @PathVariable UUID sessionId,
             @PathVariable UUID taskId,
-            @RequestHeader("X-User-ID") UUID userId) {
+            @RequestHeader("X-User-ID") UUID userId,
+            @Parameter(description = "Include the session's task ids") @RequestParam(defaultValue = "false") boolean includeTasks) {
         
-        SessionResponseDTO response = sessionService.removeTaskFromSession(sessionId, taskId, userId);
+        SessionResponseDTO response = sessionActors.execute(sessionId, () -> sessionService.removeTaskFromSession(sessionId, taskId, userId, includeTasks));
         return ResponseEntity.ok(response);
     }
 
@@ -326,13 +398,21 @@ public class SessionController {
 
     @GetMapping("/{sessionId}/tasks")
     @Operation(summary = "Get session tasks", description = "List all tasks associated with session (owner/participants)")
-    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
+    })
     public ResponseEntity<List<UUID>> getSessionTasks(
             @PathVariable UUID sessionId,
-            @RequestHeader("X-User-ID") UUID userId) {
+            @RequestHeader("X-User-ID") UUID userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
+        String currentETag = eTag(sessionService.getSessionVersion(sessionId, userId));
+        if (ifNoneMatch != null && matches(ifNoneMatch, currentETag)) {
+            return notModified(currentETag);
+        }
         List<UUID> tasks = sessionService.getSessionTasks(sessionId, userId);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok().eTag(currentETag).body(tasks);
     }
 
     // ==================== Utility Methods ====================
@@ -359,4 +439,30 @@ public class SessionController {
         boolean canJoin = sessionService.canUserJoinSession(sessionId, userId, inviteCode);
         return ResponseEntity.ok(canJoin);
     }
+
+    // ==================== Conditional GET Helpers ====================
+
+    // Strong validator: the session id (the "current" session can change) and its version
+    private static String eTag(SessionVersionDTO version) {
+        return eTag(version.getSessionId(), version.getVersion());
+    }
+
+    private static String eTag(SessionResponseDTO response) {
+        return eTag(response.getSessionId(), response.getVersion());
+    }
+
+    private static String eTag(UUID sessionId, Long version) {
+        return "\"" + sessionId + "." + version + "\"";
+    }
+
+    // If-None-Match uses the weak comparison (RFC 9110 13.1.2), so a W/ prefix added by a proxy still matches
+    private static boolean matches(String ifNoneMatch, String currentETag) {
+        ETag current = ETag.create(currentETag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String currentETag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+    }
 }
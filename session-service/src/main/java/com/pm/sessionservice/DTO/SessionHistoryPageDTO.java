@@ -0,0 +1,19 @@
+package com.pm.sessionservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's session history, newest first.
+ * Pass nextCursor back unchanged to get the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionHistoryPageDTO {
+    private List<SessionSummaryDTO> sessions;
+    private String nextCursor;
+}
@@ -27,5 +27,7 @@ public class SessionProgressDTO {
     private List<UUID> activeParticipants;
     private List<UUID> completedTaskIds;
     private Boolean isWaitingForBreakSelection;
+    private List<UserSummaryDTO> participants;
+    private Boolean partial; // true when a dependency missed its deadline and its data is left out
 
 }
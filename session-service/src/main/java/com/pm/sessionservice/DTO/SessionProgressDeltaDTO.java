@@ -0,0 +1,38 @@
+package com.pm.sessionservice.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pushed to progress stream subscribers after the initial SessionProgressDTO snapshot.
+ * Only the groups that changed (phase, participants, tasks) are populated.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionProgressDeltaDTO {
+
+    private UUID sessionId;
+
+    // Phase group
+    private SessionStatus status;
+    private SessionType currentType;
+    private LocalDateTime currentPhaseStartTime;
+    private Integer currentDurationMinutes;
+    private Integer totalWorkSessionsCompleted;
+    private Boolean isWaitingForBreakSelection;
+
+    // Participant group
+    private List<UUID> activeParticipants;
+
+    // Task group
+    private Integer totalTasks;
+    private Integer tasksCompleted;
+    private List<UUID> completedTaskIds;
+
+}
@@ -1,6 +1,7 @@
 package com.pm.sessionservice.DTO;
 
 import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.Data;
@@ -35,4 +36,13 @@ public class SessionRequestDTO {
     @Size(max = 20, message = "Cannot assign more than 20 tasks to a session")
     private List<UUID> taskIds;
 
+    // When set, the session is created SCHEDULED and started automatically at this time
+    @Future(message = "Scheduled time must be in the future")
+    private LocalDateTime scheduledTime;
+
+    // Planned length; sets the window checked for overlaps with the owner's other sessions
+    @Min(value = 15, message = "Planned duration must be at least 15 minutes")
+    @Max(value = 720, message = "Planned duration cannot exceed 720 minutes")
+    private Integer plannedDurationMinutes;
+
 }
\ No newline at end of file
@@ -14,8 +14,11 @@ public class SessionResponseDTO {
 
     private UUID sessionId;
     private String ownerUsername;
+    private UUID ownerId;
     private String sessionName;
+    private LocalDateTime scheduledTime;
     private LocalDateTime startTime;
+    private LocalDateTime plannedEndTime;
     private LocalDateTime endTime;
     private LocalDateTime createdAt;
     private List<UUID> userIds;
@@ -37,5 +40,6 @@ public class SessionResponseDTO {
     private Integer longBreakMinutes;
     private Long totalSessionDurationMinutes;
     private List<UUID> participantIds;
+    private Long version;
 
 }
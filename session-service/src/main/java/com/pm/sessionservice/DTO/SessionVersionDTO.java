@@ -0,0 +1,18 @@
+package com.pm.sessionservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A session's current version, the validator behind the session endpoints' ETags
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionVersionDTO {
+    private UUID sessionId;
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.pm.sessionservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The slice of a user-service user that session-service needs (GetUsersByIds response entry)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDTO {
+    private UUID userId;
+    private String username;
+}
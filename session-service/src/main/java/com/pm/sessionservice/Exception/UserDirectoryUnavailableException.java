@@ -0,0 +1,11 @@
+package com.pm.sessionservice.Exception;
+
+public class UserDirectoryUnavailableException extends RuntimeException {
+    public UserDirectoryUnavailableException(String message) {
+        super(message);
+    }
+
+    public UserDirectoryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,7 @@
 package com.pm.sessionservice.Mapper;
 
 import com.pm.sessionservice.DTO.*;
+import com.pm.sessionservice.Repository.SessionProgressView;
 import com.pm.sessionservice.model.Session;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -26,7 +27,8 @@ public interface SessionMapper {
      * Maps Session entity to SessionResponseDTO
      * Includes all session fields for complete client response
      */
-    @Mapping(target = "userIds", source = "taskIds") // Map taskIds to userIds for backward compatibility
+    @Mapping(target = "userIds", ignore = true) // Mirrors taskIds for backward compatibility, set by service
+    @Mapping(target = "taskIds", ignore = true) // Only loaded when the caller asks for tasks
     @Mapping(target = "participantIds", ignore = true) // Will be populated by service layer
     SessionResponseDTO toResponseDTO(Session session);
 
@@ -34,6 +36,7 @@ public interface SessionMapper {
      * Maps Session entity to SessionSummaryDTO 
      * Contains only essential fields for list views
      */
+    @Mapping(target = "taskIds", ignore = true) // Task membership lives in session_tasks
     SessionSummaryDTO toSummaryDTO(Session session);
 
     /**
@@ -44,6 +47,7 @@ public interface SessionMapper {
     @Mapping(target = "createdAt", ignore = true) // Set by service
     @Mapping(target = "updatedAt", ignore = true) // Set by service
     @Mapping(target = "startTime", ignore = true) // Set by service
+    @Mapping(target = "plannedEndTime", ignore = true) // Set by service from plannedDurationMinutes
     @Mapping(target = "endTime", ignore = true) // Set by service
     @Mapping(target = "status", ignore = true) // Set by service
     @Mapping(target = "inviteCode", ignore = true) // Generated by service
@@ -54,8 +58,8 @@ public interface SessionMapper {
     @Mapping(target = "currentParticipantCount", ignore = true) // Runtime field
     @Mapping(target = "isDeleted", ignore = true) // Runtime field
     @Mapping(target = "totalSessionDurationMinutes", ignore = true) // Calculated field
-    @Mapping(target = "taskIds", ignore = true) // Initialized empty by service
     @Mapping(target = "ownerUsername", ignore = true) // Set by service from userId
+    @Mapping(target = "ownerId", ignore = true) // Set by service from userId
     Session fromRequestDTO(SessionRequestDTO sessionRequestDTO);
 
     /**
@@ -64,7 +68,9 @@ public interface SessionMapper {
      */
     @Mapping(target = "sessionId", ignore = true) // Never update ID
     @Mapping(target = "ownerUsername", ignore = true) // Never change owner
+    @Mapping(target = "ownerId", ignore = true) // Never change owner
     @Mapping(target = "createdAt", ignore = true) // Never change creation time
+    @Mapping(target = "plannedEndTime", ignore = true) // Fixed when the session is created
     @Mapping(target = "status", ignore = true) // Managed by service
     @Mapping(target = "inviteCode", ignore = true) // Never auto-update
     @Mapping(target = "currentType", ignore = true) // Managed by pomodoro logic
@@ -74,7 +80,6 @@ public interface SessionMapper {
     @Mapping(target = "currentParticipantCount", ignore = true) // Runtime field
     @Mapping(target = "isDeleted", ignore = true) // Managed by service
     @Mapping(target = "totalSessionDurationMinutes", ignore = true) // Calculated field
-    @Mapping(target = "taskIds", ignore = true) // Managed separately
     void updateSessionFromRequest(UpdateSessionRequestDTO updateRequest, @MappingTarget Session session);
 
     /**
@@ -83,11 +88,13 @@ public interface SessionMapper {
      */
     @Mapping(target = "elapsedTime", ignore = true) // Calculated by service using helper methods
     @Mapping(target = "timeRemainingInPhase", ignore = true) // Calculated by service using helper methods
-    @Mapping(target = "totalTasks", ignore = true) // Calculated from taskIds list by service
+    @Mapping(target = "totalTasks", ignore = true) // Counted from session_tasks by service
     @Mapping(target = "tasksCompleted", ignore = true) // Calculated by service via task service integration
     @Mapping(target = "activeParticipants", ignore = true) // Retrieved by service from participant repository
     @Mapping(target = "completedTaskIds", ignore = true) // Retrieved by service via task service integration
     @Mapping(target = "isWaitingForBreakSelection", ignore = true) // Calculated by service using helper methods
+    @Mapping(target = "participants", ignore = true) // Resolved by service via user service integration
+    @Mapping(target = "partial", ignore = true) // Set by service after enrichment
     SessionProgressDTO toProgressDTO(Session session);
 
     /**
@@ -96,7 +103,41 @@ public interface SessionMapper {
      */
     @Mapping(target = "phaseStartTime", source = "currentPhaseStartTime") // Field name mapping
     @Mapping(target = "workSessionsCompleted", source = "totalWorkSessionsCompleted") // Field name mapping  
-    @Mapping(target = "tasks", ignore = true) // Calculated from taskIds list by service
+    @Mapping(target = "tasks", ignore = true) // Counted from session_tasks by service
     @Mapping(target = "timeRemaining", ignore = true) // Calculated by service using helper methods
     BreakSessionDTO toBreakSessionDTO(Session session);
+
+    /**
+     * Single-statement read model variants used by the progress and break-option endpoints
+     */
+    @Mapping(target = "elapsedTime", ignore = true) // Calculated by service using helper methods
+    @Mapping(target = "timeRemainingInPhase", ignore = true) // Calculated by service using helper methods
+    @Mapping(target = "totalTasks", ignore = true) // Taken from the aggregated task count by service
+    @Mapping(target = "tasksCompleted", ignore = true) // Calculated by service via task service integration
+    @Mapping(target = "activeParticipants", ignore = true) // Parsed by service from the aggregated participant IDs
+    @Mapping(target = "completedTaskIds", ignore = true) // Retrieved by service via task service integration
+    @Mapping(target = "isWaitingForBreakSelection", ignore = true) // Calculated by service using helper methods
+    @Mapping(target = "participants", ignore = true) // Resolved by service via user service integration
+    @Mapping(target = "partial", ignore = true) // Set by service after enrichment
+    SessionProgressDTO toProgressDTO(SessionProgressView view);
+
+    @Mapping(target = "phaseStartTime", source = "currentPhaseStartTime") // Field name mapping
+    @Mapping(target = "workSessionsCompleted", source = "totalWorkSessionsCompleted") // Field name mapping
+    @Mapping(target = "tasks", ignore = true) // Taken from the aggregated task count by service
+    @Mapping(target = "timeRemaining", ignore = true) // Calculated by service using helper methods
+    BreakSessionDTO toBreakSessionDTO(SessionProgressView view);
+
+    /**
+     * Summary variant for the history pages
+     * Leaves out the collections so a page never triggers per-session collection loads
+     */
+    @Mapping(target = "taskIds", ignore = true) // Not part of the history listing
+    @Mapping(target = "participants", ignore = true) // Not part of the history listing
+    SessionSummaryDTO toHistorySummaryDTO(Session session);
+
+    /**
+     * Creates a detached copy of a Session entity
+     * Used by the session cache so cached state is never shared with a managed entity
+     */
+    Session copySession(Session session);
 }
@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Repository;
+
+import com.pm.sessionservice.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest pending events of one partition; only called while holding that partition's lease
+    List<OutboxEvent> findByPartitionKeyOrderByIdAsc(Integer partitionKey, Limit limit);
+}
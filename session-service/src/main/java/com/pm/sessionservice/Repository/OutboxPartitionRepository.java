@@ -0,0 +1,23 @@
+package com.pm.sessionservice.Repository;
+
+import com.pm.sessionservice.model.OutboxPartition;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxPartitionRepository extends JpaRepository<OutboxPartition, Integer> {
+
+    // FOR UPDATE SKIP LOCKED: empty when another relay is already draining the partition
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM OutboxPartition p WHERE p.partitionId = :partitionId")
+    Optional<OutboxPartition> tryLease(@Param("partitionId") Integer partitionId);
+}
@@ -0,0 +1,11 @@
+package com.pm.sessionservice.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projection used to rebuild phase deadlines without loading full Session entities
+public interface PhaseDeadlineView {
+    UUID getSessionId();
+    LocalDateTime getCurrentPhaseStartTime();
+    Integer getCurrentDurationMinutes();
+}
@@ -0,0 +1,10 @@
+package com.pm.sessionservice.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projection used to credit focus time to the participants present when a work phase completes
+public interface PresentParticipantView {
+    UUID getId();
+    LocalDateTime getCurrentSessionStartTime();
+}
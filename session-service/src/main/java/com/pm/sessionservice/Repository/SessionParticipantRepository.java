@@ -47,6 +47,15 @@ public interface SessionParticipantRepository extends JpaRepository<SessionParti
                                    @Param("userId") UUID userId, 
                                    @Param("leftTime") LocalDateTime leftTime);
 
+    // Rejoin: (session_id, user_id) is unique, so a returning user's inactive row is reused
+    @Modifying
+    @Query("UPDATE SessionParticipant sp SET sp.isActive = true, sp.role = com.pm.sessionservice.model.ParticipantRole.PARTICIPANT, " +
+           "sp.joinedAt = :joinTime, sp.currentSessionStartTime = :joinTime, sp.isCurrentlyInSession = true " +
+           "WHERE sp.sessionId = :sessionId AND sp.userId = :userId AND sp.isActive = false")
+    int reactivateParticipant(@Param("sessionId") UUID sessionId,
+                              @Param("userId") UUID userId,
+                              @Param("joinTime") LocalDateTime joinTime);
+
     // Update participant session status
     @Modifying
     @Query("UPDATE SessionParticipant sp SET sp.isCurrentlyInSession = :inSession " +
@@ -69,7 +78,32 @@ public interface SessionParticipantRepository extends JpaRepository<SessionParti
            "WHERE sp.sessionId = :sessionId AND sp.isActive = true")
     int deactivateAllParticipants(@Param("sessionId") UUID sessionId, @Param("endTime") LocalDateTime endTime);
 
-    // User session history (for integration with user service)
-    @Query("SELECT sp.sessionId FROM SessionParticipant sp WHERE sp.userId = :userId")
+    // Focus-time accounting: participants in the room when a work phase completes
+    @Query("SELECT sp.id AS id, sp.currentSessionStartTime AS currentSessionStartTime FROM SessionParticipant sp " +
+           "WHERE sp.sessionId = :sessionId AND sp.isActive = true AND sp.isCurrentlyInSession = true")
+    List<PresentParticipantView> findPresentParticipants(@Param("sessionId") UUID sessionId);
+
+    // Metrics gauge: participants currently in the room of an ACTIVE session
+    @Query("SELECT COUNT(sp) FROM SessionParticipant sp JOIN Session s ON s.sessionId = sp.sessionId " +
+           "WHERE sp.isActive = true AND sp.isCurrentlyInSession = true " +
+           "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE AND s.isDeleted = false")
+    long countLiveParticipants();
+
+    // User session history (for integration with user service), including archived sessions.
+    // Ids are selected as text because native scalar UUIDs are not portable across drivers
+    @Query(value = "SELECT CAST(sp.session_id AS VARCHAR(36)) FROM session_participants sp WHERE sp.user_id = :userId " +
+           "UNION ALL " +
+           "SELECT CAST(spa.session_id AS VARCHAR(36)) FROM session_participants_archive spa WHERE spa.user_id = :userId",
+           nativeQuery = true)
     List<UUID> findSessionIdsByUserId(@Param("userId") UUID userId);
+
+    // Archival: participant rows follow their session into the archive
+    @Modifying
+    @Query(value = "INSERT INTO session_participants_archive SELECT * FROM session_participants " +
+           "WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int copyParticipantsToArchive(@Param("sessionIds") List<UUID> sessionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM session_participants WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int deleteBySessionIds(@Param("sessionIds") List<UUID> sessionIds);
 }
\ No newline at end of file
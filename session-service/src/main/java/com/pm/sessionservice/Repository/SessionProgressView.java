@@ -0,0 +1,34 @@
+package com.pm.sessionservice.Repository;
+
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model for progress and break-option reads
+ * Session fields, caller access, active participants and task count in one statement
+ */
+public interface SessionProgressView {
+    UUID getSessionId();
+    String getSessionName();
+    SessionStatus getStatus();
+    SessionType getCurrentType();
+    LocalDateTime getStartTime();
+    LocalDateTime getCurrentPhaseStartTime();
+    Integer getCurrentDurationMinutes();
+    Integer getTotalWorkSessionsCompleted();
+    Boolean getIsWaitingForBreakSelection();
+    Integer getShortBreakMinutes();
+    Integer getLongBreakMinutes();
+
+    // Ownership is decided by ownerId; ownerUsername only for sessions that predate it
+    UUID getOwnerId();
+    String getOwnerUsername();
+
+    // Comma separated user IDs of active participants, null when there are none
+    String getActiveParticipantIds();
+
+    Long getTaskCount();
+}
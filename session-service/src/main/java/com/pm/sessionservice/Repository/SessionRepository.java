@@ -3,17 +3,25 @@ package com.pm.sessionservice.Repository;
 import com.pm.sessionservice.DTO.SessionResponseDTO;
 import com.pm.sessionservice.model.Session;
 import com.pm.sessionservice.model.SessionStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 @Repository
 public interface SessionRepository extends JpaRepository<Session, UUID> {
 
@@ -23,32 +31,69 @@ public interface SessionRepository extends JpaRepository<Session, UUID> {
     // Check if user has any active sessions (for conflict detection)
     boolean existsByOwnerUsernameAndStatus(String ownerUsername, SessionStatus status);
 
-    @Query("SELECT s FROM Session s WHERE s.ownerUsername = :username " +
-            "AND ((s.startTime BETWEEN :startTime AND :endTime) " +
-            "OR (s.endTime BETWEEN :startTime AND :endTime)) " +
-            "AND s.status IN :statuses")
-    List<Session> findConflictingSessions(
-            @Param("username") String username,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
-            @Param("statuses") SessionStatus... statuses);
+    // Conflict index: planned windows of the owner's live and scheduled sessions, one (owner_id, status) probe
+    @Query("SELECT s.sessionId AS sessionId, COALESCE(s.scheduledTime, s.startTime) AS windowStart, " +
+            "s.plannedEndTime AS windowEnd " +
+            "FROM Session s WHERE s.ownerId = :ownerId " +
+            "AND s.isDeleted = false " +
+            "AND s.status IN (com.pm.sessionservice.model.SessionStatus.SCHEDULED, " +
+            "com.pm.sessionservice.model.SessionStatus.ACTIVE, com.pm.sessionservice.model.SessionStatus.PAUSED) " +
+            "AND s.plannedEndTime IS NOT NULL")
+    List<SessionWindowView> findLiveSessionWindows(@Param("ownerId") UUID ownerId);
 
 
-    boolean existsByEmailAndSessionIdNot(UUID sessionId);
+    // Active session lookup: ids of ACTIVE sessions the user owns or actively participates in.
+    // Two index probes, (owner_id, status) and the active-participant index, instead of an OR-join
+    @Query("SELECT s.sessionId FROM Session s " +
+            "WHERE s.ownerId = :userId " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE AND s.isDeleted = false " +
+            "UNION ALL " +
+            "SELECT s.sessionId FROM SessionParticipant sp JOIN Session s ON s.sessionId = sp.sessionId " +
+            "WHERE sp.userId = :userId AND sp.isActive = true " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE AND s.isDeleted = false")
+    List<UUID> findActiveSessionIdsForUser(@Param("userId") UUID userId);
 
 
-//find active sessions y user involved without pagination
-    @Query("SELECT DISTINCT s FROM Session s " +
-            "LEFT JOIN SessionParticipant sp ON s.sessionId = sp.sessionId " +
-            "WHERE (s.ownerUsername = :username OR sp.userId = :userId) " +
-            "AND s.status = 'ACTIVE' " +
-            "AND s.isDeleted = false " +
-            "ORDER BY s.startTime DESC " +
-            "LIMIT 1")
-    Optional<Session> findCurrentActiveSessionByUser(
-            @Param("username") String username, 
-            @Param("userId") UUID userId);
+    // Metrics gauges: both counts are served by idx_sessions_status_updated_at
+    @Query("SELECT COUNT(s) FROM Session s " +
+            "WHERE s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE AND s.isDeleted = false")
+    long countActiveSessions();
+
+    @Query("SELECT COUNT(s) FROM Session s " +
+            "WHERE s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE AND s.isDeleted = false " +
+            "AND s.isWaitingForBreakSelection = true")
+    long countSessionsWaitingForBreakSelection();
+
 
+    // History page: sessions the user owns or joined, newest first, strictly after the (start_time, session_id) cursor.
+    // Each branch seeks into its own composite index and stops after :limit rows, so page cost does not grow with depth.
+    // Archived sessions are served from the archive tables by the last two branches
+    @Query(value = "SELECT h.* FROM (" +
+            "(SELECT s.* FROM sessions s " +
+            " WHERE s.owner_id = :userId AND s.is_deleted = false AND s.start_time IS NOT NULL " +
+            " AND (s.start_time, s.session_id) < (:cursorStartTime, :cursorSessionId) " +
+            " ORDER BY s.start_time DESC, s.session_id DESC LIMIT :limit) " +
+            "UNION " +
+            "(SELECT s.* FROM session_participants sp JOIN sessions s ON s.session_id = sp.session_id " +
+            " WHERE sp.user_id = :userId AND s.is_deleted = false AND sp.session_start_time IS NOT NULL " +
+            " AND (sp.session_start_time, sp.session_id) < (:cursorStartTime, :cursorSessionId) " +
+            " ORDER BY sp.session_start_time DESC, sp.session_id DESC LIMIT :limit) " +
+            "UNION " +
+            "(SELECT a.* FROM sessions_archive a " +
+            " WHERE a.owner_id = :userId AND a.is_deleted = false AND a.start_time IS NOT NULL " +
+            " AND (a.start_time, a.session_id) < (:cursorStartTime, :cursorSessionId) " +
+            " ORDER BY a.start_time DESC, a.session_id DESC LIMIT :limit) " +
+            "UNION " +
+            "(SELECT a.* FROM session_participants_archive spa JOIN sessions_archive a ON a.session_id = spa.session_id " +
+            " WHERE spa.user_id = :userId AND a.is_deleted = false AND spa.session_start_time IS NOT NULL " +
+            " AND (spa.session_start_time, spa.session_id) < (:cursorStartTime, :cursorSessionId) " +
+            " ORDER BY spa.session_start_time DESC, spa.session_id DESC LIMIT :limit)" +
+            ") h ORDER BY h.start_time DESC, h.session_id DESC LIMIT :limit", nativeQuery = true)
+    List<Session> findHistoryPage(
+            @Param("userId") UUID userId,
+            @Param("cursorStartTime") LocalDateTime cursorStartTime,
+            @Param("cursorSessionId") UUID cursorSessionId,
+            @Param("limit") int limit);
 
 
     @Query("SELECT s FROM Session s " +
@@ -58,4 +103,150 @@ public interface SessionRepository extends JpaRepository<Session, UUID> {
     Optional<Session> findByInviteCode(@Param("inviteCode") String inviteCode);
 
 
+    // Progress/break-option read path: one statement, no entity or collection loading
+    // readOnly here (not on the service) so the replica routing holds without keeping a connection during enrichment
+    @Transactional(readOnly = true)
+    @Query("SELECT s.sessionId AS sessionId, s.sessionName AS sessionName, s.status AS status, " +
+            "s.currentType AS currentType, s.startTime AS startTime, " +
+            "s.currentPhaseStartTime AS currentPhaseStartTime, s.currentDurationMinutes AS currentDurationMinutes, " +
+            "s.totalWorkSessionsCompleted AS totalWorkSessionsCompleted, " +
+            "s.isWaitingForBreakSelection AS isWaitingForBreakSelection, " +
+            "s.shortBreakMinutes AS shortBreakMinutes, s.longBreakMinutes AS longBreakMinutes, " +
+            "s.ownerId AS ownerId, s.ownerUsername AS ownerUsername, " +
+            "(SELECT LISTAGG(CAST(sp.userId AS String), ',') FROM SessionParticipant sp " +
+            " WHERE sp.sessionId = s.sessionId AND sp.isActive = true) AS activeParticipantIds, " +
+            "(SELECT COUNT(st) FROM SessionTask st WHERE st.sessionId = s.sessionId) AS taskCount " +
+            "FROM Session s WHERE s.sessionId = :sessionId")
+    Optional<SessionProgressView> findProgressView(@Param("sessionId") UUID sessionId);
+
+    // Conditional GETs: the version plus what the owner/participant check needs, nothing else is loaded
+    @Transactional(readOnly = true)
+    @Query("SELECT s.sessionId AS sessionId, s.version AS version, " +
+            "s.ownerId AS ownerId, s.ownerUsername AS ownerUsername, " +
+            "(SELECT COUNT(sp) FROM SessionParticipant sp WHERE sp.sessionId = s.sessionId " +
+            " AND sp.userId = :userId AND sp.isActive = true) AS participantMatches " +
+            "FROM Session s WHERE s.sessionId = :sessionId")
+    Optional<SessionVersionView> findVersionView(@Param("sessionId") UUID sessionId, @Param("userId") UUID userId);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT s.sessionId AS sessionId, s.version AS version FROM Session s " +
+            "WHERE s.inviteCode = :inviteCode " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE " +
+            "AND s.isDeleted = false")
+    Optional<SessionVersionView> findVersionViewByInviteCode(@Param("inviteCode") String inviteCode);
+
+
+    // Phase engine: running WORK phases whose deadline is owned by the timing wheel
+    @Query("SELECT s.sessionId AS sessionId, s.currentPhaseStartTime AS currentPhaseStartTime, " +
+            "s.currentDurationMinutes AS currentDurationMinutes FROM Session s " +
+            "WHERE s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE " +
+            "AND s.currentType = com.pm.sessionservice.model.SessionType.WORK " +
+            "AND s.isDeleted = false " +
+            "AND (s.isWaitingForBreakSelection = false OR s.isWaitingForBreakSelection IS NULL) " +
+            "AND s.currentPhaseStartTime IS NOT NULL")
+    Stream<PhaseDeadlineView> streamRunningWorkPhases();
+
+    // Phase engine: flips an expired WORK phase to waiting-for-break, matches at most once per phase
+    @Modifying
+    @Query("UPDATE Session s SET s.isWaitingForBreakSelection = true, " +
+            "s.totalWorkSessionsCompleted = COALESCE(s.totalWorkSessionsCompleted, 0) + 1, s.version = s.version + 1 " +
+            "WHERE s.sessionId = :sessionId " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE " +
+            "AND s.currentType = com.pm.sessionservice.model.SessionType.WORK " +
+            "AND s.currentDurationMinutes = :durationMinutes " +
+            "AND s.currentPhaseStartTime <= :latestPhaseStart " +
+            "AND (s.isWaitingForBreakSelection = false OR s.isWaitingForBreakSelection IS NULL)")
+    int completeExpiredWorkPhase(
+            @Param("sessionId") UUID sessionId,
+            @Param("durationMinutes") Integer durationMinutes,
+            @Param("latestPhaseStart") LocalDateTime latestPhaseStart);
+
+
+    // Blocking FOR UPDATE on one session: serializes writers of rows keyed by the session (task membership)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Session s WHERE s.sessionId = :sessionId")
+    Optional<Session> findByIdForUpdate(@Param("sessionId") UUID sessionId);
+
+
+    // Reaper: one chunk of ACTIVE/PAUSED sessions untouched since idleBefore, oldest first.
+    // FOR UPDATE SKIP LOCKED, so replicas sweeping at the same time take disjoint chunks
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM Session s " +
+            "WHERE s.status IN (com.pm.sessionservice.model.SessionStatus.ACTIVE, com.pm.sessionservice.model.SessionStatus.PAUSED) " +
+            "AND s.isDeleted = false " +
+            "AND s.startTime IS NOT NULL " +
+            "AND s.updatedAt < :idleBefore " +
+            "ORDER BY s.updatedAt")
+    List<Session> lockIdleSessions(@Param("idleBefore") LocalDateTime idleBefore, Limit limit);
+
+
+    // Scheduled-session activator: one batch of SCHEDULED sessions whose time has come, earliest first.
+    // FOR UPDATE SKIP LOCKED, so replicas polling at the same time claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM Session s " +
+            "WHERE s.status = com.pm.sessionservice.model.SessionStatus.SCHEDULED " +
+            "AND s.isDeleted = false " +
+            "AND s.scheduledTime <= :dueBy " +
+            "ORDER BY s.scheduledTime")
+    List<Session> lockDueScheduledSessions(@Param("dueBy") LocalDateTime dueBy, Limit limit);
+
+
+    // Archival: one batch of finished (COMPLETED/CANCELLED) or soft-deleted sessions untouched since finishedBefore.
+    // FOR UPDATE SKIP LOCKED, so replicas archiving at the same time take disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s.sessionId FROM Session s " +
+            "WHERE (s.status IN (com.pm.sessionservice.model.SessionStatus.COMPLETED, com.pm.sessionservice.model.SessionStatus.CANCELLED) " +
+            "OR s.isDeleted = true) " +
+            "AND s.updatedAt < :finishedBefore " +
+            "ORDER BY s.updatedAt")
+    List<UUID> lockArchivableSessionIds(@Param("finishedBefore") LocalDateTime finishedBefore, Limit limit);
+
+    // Archive tables mirror the hot tables column for column, so rows are copied as-is
+    @Modifying
+    @Query(value = "INSERT INTO sessions_archive SELECT * FROM sessions WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int copySessionsToArchive(@Param("sessionIds") List<UUID> sessionIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO session_tasks_archive SELECT * FROM session_tasks WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int copySessionTasksToArchive(@Param("sessionIds") List<UUID> sessionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM session_tasks WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int deleteSessionTasks(@Param("sessionIds") List<UUID> sessionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM sessions WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int deleteSessions(@Param("sessionIds") List<UUID> sessionIds);
+
+
+    // Admission: claims one participant slot, returns 0 when the session is full or not joinable
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Session s SET s.currentParticipantCount = s.currentParticipantCount + 1, s.updatedAt = :now, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.sessionId = :sessionId " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE " +
+            "AND s.isDeleted = false " +
+            "AND s.currentParticipantCount < COALESCE(s.maxParticipants, :participantLimit) " +
+            "AND s.currentParticipantCount < :participantLimit")
+    int claimParticipantSlot(
+            @Param("sessionId") UUID sessionId,
+            @Param("participantLimit") int participantLimit,
+            @Param("now") LocalDateTime now);
+
+    // Leave/remove: releases one participant slot, never dropping the count to the floor or below
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Session s SET s.currentParticipantCount = s.currentParticipantCount - 1, s.updatedAt = :now, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.sessionId = :sessionId " +
+            "AND s.status = com.pm.sessionservice.model.SessionStatus.ACTIVE " +
+            "AND s.currentParticipantCount > :floor")
+    int releaseParticipantSlot(
+            @Param("sessionId") UUID sessionId,
+            @Param("floor") int floor,
+            @Param("now") LocalDateTime now);
+
+
 }
@@ -0,0 +1,37 @@
+package com.pm.sessionservice.Repository;
+
+import com.pm.sessionservice.model.SessionTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+// Session -> task membership, written one row at a time against the (session_id, task_id) primary key
+@Repository
+public interface SessionTaskRepository extends JpaRepository<SessionTask, SessionTask.Key> {
+
+    // Idempotent add: inserts the row unless it exists, returns 1 when it was added and 0 when already present.
+    // The NOT EXISTS guard only holds while the caller has the session row locked (SessionRepository.findByIdForUpdate);
+    // without it two concurrent adds both pass the guard and the second fails on the primary key
+    @Modifying
+    @Query(value = "INSERT INTO session_tasks (session_id, task_id) " +
+            "SELECT :sessionId, :taskId WHERE NOT EXISTS " +
+            "(SELECT 1 FROM session_tasks WHERE session_id = :sessionId AND task_id = :taskId)", nativeQuery = true)
+    int addTask(@Param("sessionId") UUID sessionId, @Param("taskId") UUID taskId);
+
+    // Idempotent remove: returns 1 when the row was deleted and 0 when it was not there
+    @Modifying
+    @Query("DELETE FROM SessionTask st WHERE st.sessionId = :sessionId AND st.taskId = :taskId")
+    int removeTask(@Param("sessionId") UUID sessionId, @Param("taskId") UUID taskId);
+
+    boolean existsBySessionIdAndTaskId(UUID sessionId, UUID taskId);
+
+    long countBySessionId(UUID sessionId);
+
+    @Query("SELECT st.taskId FROM SessionTask st WHERE st.sessionId = :sessionId")
+    List<UUID> findTaskIdsBySessionId(@Param("sessionId") UUID sessionId);
+}
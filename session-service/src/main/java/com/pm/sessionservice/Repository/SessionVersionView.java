@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Repository;
+
+import java.util.UUID;
+
+/**
+ * Read model for conditional GETs
+ * The session's version and, when requested, what the owner/participant check needs
+ */
+public interface SessionVersionView {
+    UUID getSessionId();
+    Long getVersion();
+    UUID getOwnerId();
+    String getOwnerUsername();
+    Long getParticipantMatches();
+}
@@ -0,0 +1,14 @@
+package com.pm.sessionservice.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model for conflict checks
+ * The planned [windowStart, windowEnd) a live or scheduled session occupies
+ */
+public interface SessionWindowView {
+    UUID getSessionId();
+    LocalDateTime getWindowStart();
+    LocalDateTime getWindowEnd();
+}
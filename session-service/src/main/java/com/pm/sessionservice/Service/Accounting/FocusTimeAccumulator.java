@@ -0,0 +1,167 @@
+package com.pm.sessionservice.Service.Accounting;
+
+import com.pm.sessionservice.Config.FocusTimeProperties;
+import com.pm.sessionservice.Repository.PresentParticipantView;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-participant focus-time accounting
+ *
+ * - When a work phase completes, every participant present in the room is credited with the
+ *   minutes of that phase they were there for, plus one work phase participated
+ * - Credits are applied after commit to an in-memory map of deltas keyed by participant row
+ * - Every flushInterval the deltas are drained and written with one JDBC-batched UPDATE
+ * - A failed flush puts its deltas back; deltas not yet flushed are lost if the process dies
+ */
+@Component
+public class FocusTimeAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(FocusTimeAccumulator.class);
+
+    private static final String FLUSH_SQL = "UPDATE session_participants SET " +
+            "total_session_time_minutes = COALESCE(total_session_time_minutes, 0) + ?, " +
+            "work_sessions_participated = COALESCE(work_sessions_participated, 0) + ? " +
+            "WHERE id = ?";
+
+    private final SessionParticipantRepository sessionParticipantRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FocusTimeProperties properties;
+    private final Map<UUID, Delta> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+    private final Counter flushedRows;
+
+    public FocusTimeAccumulator(SessionParticipantRepository sessionParticipantRepository,
+                                JdbcTemplate jdbcTemplate,
+                                FocusTimeProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.sessionParticipantRepository = sessionParticipantRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "focus-time-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushedRows = Counter.builder("session.focus-time.flushed.rows")
+                .description("Participant rows updated by focus-time flushes")
+                .register(meterRegistry);
+        meterRegistry.gauge("session.focus-time.pending", pending, Map::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long flushMillis = properties.getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Credits a completed work phase to the participants present in the session.
+     * Call inside the transaction that completed the phase, exactly once per phase.
+     */
+    public void creditWorkPhase(UUID sessionId, LocalDateTime phaseStart, LocalDateTime phaseEnd) {
+        List<PresentParticipantView> present = sessionParticipantRepository.findPresentParticipants(sessionId);
+        if (present.isEmpty()) {
+            return;
+        }
+        Map<UUID, Delta> credits = new HashMap<>();
+        for (PresentParticipantView participant : present) {
+            // Someone who arrived mid-phase is credited from the moment they joined
+            LocalDateTime from = participant.getCurrentSessionStartTime() != null
+                    && participant.getCurrentSessionStartTime().isAfter(phaseStart)
+                    ? participant.getCurrentSessionStartTime()
+                    : phaseStart;
+            long minutes = Math.max(0, Duration.between(from, phaseEnd).toMinutes());
+            credits.put(participant.getId(), new Delta(minutes, 1));
+        }
+        afterCommit(() -> credits.forEach(this::merge));
+    }
+
+    // Writes every pending delta; returns the number of participant rows updated
+    public int flush() {
+        List<UUID> ids = new ArrayList<>(pending.keySet());
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        Map<UUID, Delta> drained = new HashMap<>();
+        for (UUID id : ids) {
+            // remove() is atomic with merge(), so a credit lands either in this flush or the next
+            Delta delta = pending.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+                batch.add(new Object[]{delta.minutes(), delta.workPhases(), id});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            drained.forEach(this::merge);
+            throw e;
+        }
+        flushedRows.increment(batch.size());
+        return batch.size();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Focus-time flush failed, {} participants will be retried: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    private void merge(UUID participantId, Delta delta) {
+        pending.merge(participantId, delta, Delta::plus);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Delta(long minutes, int workPhases) {
+        private Delta plus(Delta other) {
+            return new Delta(minutes + other.minutes, workPhases + other.workPhases);
+        }
+    }
+}
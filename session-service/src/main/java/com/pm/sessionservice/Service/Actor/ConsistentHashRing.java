@@ -0,0 +1,51 @@
+package com.pm.sessionservice.Service.Actor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maps session ids to replica ids
+ *
+ * - Each replica is placed on the ring at virtualNodes points; a session belongs to the first point at or after its hash
+ * - Adding or removing a replica only moves the sessions between its points and their predecessors
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> replicaIds, int virtualNodes) {
+        if (replicaIds.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one replica and one virtual node per replica");
+        }
+        for (String replicaId : replicaIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(replicaId + "#" + i), replicaId);
+            }
+        }
+    }
+
+    public String ownerOf(UUID sessionId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(sessionId.toString()));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // First 8 bytes of MD5: well spread, and identical on every replica
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is required by every JVM", e);
+        }
+    }
+}
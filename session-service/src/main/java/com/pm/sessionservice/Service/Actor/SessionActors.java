@@ -0,0 +1,243 @@
+package com.pm.sessionservice.Service.Actor;
+
+import com.pm.sessionservice.Config.ReadYourWritesGuard;
+import com.pm.sessionservice.Config.SessionActorProperties;
+import com.pm.sessionservice.Config.SessionBatchTransactionManager;
+import com.pm.sessionservice.Exception.SessionConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer execution of live-session mutations
+ *
+ * - Each session with pending mutations has one mailbox, drained by one virtual thread at a time,
+ *   so mutations of a session never run concurrently and never wait on each other's row lock
+ * - Mutations queued while the previous batch ran are applied together in one transaction: the session
+ *   row is loaded once, updated once at commit, and every caller returns after that commit (group commit)
+ * - Each mutation of a batch runs under its own JDBC savepoint and is flushed before the next one starts;
+ *   one that fails is rolled back to its savepoint, together with the after-commit work it registered
+ *   (cache, deadlines, events), and only its caller sees the error. Savepoints are taken on the connection
+ *   because the JPA dialect does not support PROPAGATION_NESTED; see SessionBatchTransactionManager
+ * - If the shared transaction itself fails (commit, an Error, or a database error Hibernate marks
+ *   rollback-only), the batch is replayed one mutation per transaction
+ * - A mailbox exists only while it has work; an idle session costs nothing
+ * - Disabled (session.actors.enabled=false) every mutation runs directly on the caller's thread
+ */
+@Component
+public class SessionActors {
+    private static final Logger log = LoggerFactory.getLogger(SessionActors.class);
+
+    private final SessionActorProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectProvider<ReadYourWritesGuard> readYourWritesGuard;
+    private final ObjectProvider<SessionBatchTransactionManager> batchTransactionManager;
+    private final Map<UUID, Queue<Envelope<?>>> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService actorExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizes;
+    private final Counter replayedBatches;
+
+    public SessionActors(SessionActorProperties properties,
+                         TransactionTemplate transactionTemplate,
+                         EntityManager entityManager,
+                         ObjectProvider<ReadYourWritesGuard> readYourWritesGuard,
+                         ObjectProvider<SessionBatchTransactionManager> batchTransactionManager,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.batchTransactionManager = batchTransactionManager;
+        this.batchSizes = DistributionSummary.builder("session.actors.batch.size")
+                .description("Mutations applied per session transaction")
+                .register(meterRegistry);
+        this.replayedBatches = Counter.builder("session.actors.batch.replays")
+                .description("Batches whose shared transaction failed and were replayed one by one")
+                .register(meterRegistry);
+        meterRegistry.gauge("session.actors.mailboxes", mailboxes, Map::size);
+    }
+
+    /**
+     * Runs a mutation of the given session and returns its result once it has committed.
+     * The mutation must be a transactional SessionService call for that session.
+     */
+    public <T> T execute(UUID sessionId, Supplier<T> mutation) {
+        if (!properties.isEnabled() || sessionId == null) {
+            return mutation.get();
+        }
+        Envelope<T> envelope = new Envelope<>(mutation);
+        boolean[] startActor = new boolean[1];
+        mailboxes.compute(sessionId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new ConcurrentLinkedQueue<>();
+                startActor[0] = true;
+            } else if (mailbox.size() >= properties.getMailboxCapacity()) {
+                throw new SessionConflictException("Session " + sessionId + " has too many pending changes, retry later");
+            }
+            mailbox.add(envelope);
+            return mailbox;
+        });
+        if (startActor[0]) {
+            actorExecutor.execute(() -> drain(sessionId));
+        }
+        T result = envelope.await();
+        // The commit happened on the actor's thread, where no request user is bound
+        ReadYourWritesGuard guard = readYourWritesGuard.getIfAvailable();
+        if (guard != null) {
+            guard.recordWrite();
+        }
+        return result;
+    }
+
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    // Mutations still queued behind the one running, for tests
+    int pendingMutations(UUID sessionId) {
+        Queue<Envelope<?>> mailbox = mailboxes.get(sessionId);
+        return mailbox != null ? mailbox.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        actorExecutor.shutdown();
+    }
+
+    private void drain(UUID sessionId) {
+        while (true) {
+            Queue<Envelope<?>> mailbox = mailboxes.get(sessionId);
+            List<Envelope<?>> batch = new ArrayList<>();
+            Envelope<?> envelope;
+            while (batch.size() < properties.getMaxBatchSize() && (envelope = mailbox.poll()) != null) {
+                batch.add(envelope);
+            }
+            if (batch.isEmpty()) {
+                // Removed only while still empty, atomically with execute(), so no mutation is stranded
+                if (mailboxes.computeIfPresent(sessionId, (id, queue) -> queue.isEmpty() ? null : queue) == null) {
+                    return;
+                }
+                continue;
+            }
+            apply(batch);
+        }
+    }
+
+    private void apply(List<Envelope<?>> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1) {
+            batch.get(0).runAlone();
+            return;
+        }
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> {
+                List<Outcome> applied = new ArrayList<>(batch.size());
+                for (Envelope<?> envelope : batch) {
+                    applied.add(applyInSavepoint(envelope));
+                }
+                return applied;
+            });
+        } catch (RuntimeException e) {
+            replayedBatches.increment();
+            log.debug("Batch of {} session mutations rolled back ({}), replaying one by one", batch.size(), e.toString());
+            batch.forEach(Envelope::runAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(outcomes.get(i));
+        }
+    }
+
+    private Outcome applyInSavepoint(Envelope<?> envelope) {
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            Object value = batchTransactionManager.getObject().runBatchMutation(envelope.mutation);
+            // Write failures surface here, inside the savepoint, rather than at the batch commit
+            entityManager.flush();
+            return new Outcome(value, null);
+        } catch (RuntimeException e) {
+            // Managed entities may still hold the rolled-back changes; the next mutation reloads them
+            entityManager.clear();
+            session.doWork(connection -> connection.rollback(savepoint));
+            // Savepoints do not cover after-commit callbacks: keep only those of the mutations before this one
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.initSynchronization();
+            registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+            return new Outcome(null, e);
+        }
+    }
+
+    // Result of one mutation of a batch, handed to its caller once the batch has committed
+    private record Outcome(Object value, RuntimeException failure) {
+    }
+
+    private static final class Envelope<T> {
+        private final Supplier<T> mutation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Envelope(Supplier<T> mutation) {
+            this.mutation = mutation;
+        }
+
+        private void runAlone() {
+            try {
+                result.complete(mutation.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Outcome outcome) {
+            if (outcome.failure() != null) {
+                result.completeExceptionally(outcome.failure());
+            } else {
+                result.complete((T) outcome.value());
+            }
+        }
+
+        private T await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                // Callers see the service's own exception, exactly as without actors
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
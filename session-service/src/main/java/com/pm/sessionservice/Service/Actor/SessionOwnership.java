@@ -0,0 +1,43 @@
+package com.pm.sessionservice.Service.Actor;
+
+import com.pm.sessionservice.Config.SessionActorProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Which replica owns (runs the actor of) each session, by consistent hash of the session id
+ *
+ * With no replicas configured this replica owns every session.
+ */
+@Component
+public class SessionOwnership {
+
+    private final String replicaId;
+    private final Map<String, String> replicaUrls;
+    private final ConsistentHashRing ring;
+
+    public SessionOwnership(SessionActorProperties properties) {
+        this.replicaId = properties.getReplicaId();
+        this.replicaUrls = Map.copyOf(properties.getReplicas());
+        if (!replicaUrls.isEmpty() && !replicaUrls.containsKey(replicaId)) {
+            throw new IllegalArgumentException("session.actors.replica-id '" + replicaId
+                    + "' is not one of session.actors.replicas " + replicaUrls.keySet());
+        }
+        this.ring = replicaUrls.isEmpty() ? null : new ConsistentHashRing(replicaUrls.keySet(), properties.getVirtualNodes());
+    }
+
+    public boolean isLocal(UUID sessionId) {
+        return ring == null || replicaId.equals(ring.ownerOf(sessionId));
+    }
+
+    // Base URL of the owning replica, empty when this replica owns the session
+    public Optional<String> ownerUrl(UUID sessionId) {
+        if (isLocal(sessionId)) {
+            return Optional.empty();
+        }
+        return Optional.of(replicaUrls.get(ring.ownerOf(sessionId)));
+    }
+}
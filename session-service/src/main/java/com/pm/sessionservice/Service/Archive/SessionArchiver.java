@@ -0,0 +1,115 @@
+package com.pm.sessionservice.Service.Archive;
+
+import com.pm.sessionservice.Config.ArchiveProperties;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves finished sessions out of the hot tables
+ *
+ * - COMPLETED/CANCELLED or soft-deleted sessions untouched for archiveAfter are copied, with their
+ *   session_participants and session_tasks rows, into the *_archive tables and deleted from the hot ones
+ * - Each batch of batchSize sessions is locked FOR UPDATE SKIP LOCKED and moved in one transaction,
+ *   so replicas split the work and a session is never half-archived
+ * - The archive tables only carry the history indexes; history reads union them with the hot tables
+ */
+@Component
+public class SessionArchiver {
+    private static final Logger log = LoggerFactory.getLogger(SessionArchiver.class);
+
+    private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final ScheduledExecutorService archiveExecutor;
+    private final Counter archivedSessions;
+
+    public SessionArchiver(SessionRepository sessionRepository,
+                           SessionParticipantRepository sessionParticipantRepository,
+                           TransactionTemplate transactionTemplate,
+                           ArchiveProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.sessionParticipantRepository = sessionParticipantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.archivedSessions = Counter.builder("session.archive.moved")
+                .description("Finished sessions moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long runMillis = properties.getRunInterval().toMillis();
+        archiveExecutor.scheduleWithFixedDelay(this::archiveQuietly, runMillis, runMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // One archival run; returns the number of sessions moved
+    public int archiveFinishedSessions() {
+        LocalDateTime finishedBefore = LocalDateTime.now().minus(properties.getArchiveAfter());
+        int moved = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer count = transactionTemplate.execute(status -> moveBatch(finishedBefore));
+            int batchCount = count != null ? count : 0;
+            moved += batchCount;
+            archivedSessions.increment(batchCount);
+            if (batchCount < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} sessions finished before {}", moved, finishedBefore);
+        }
+        return moved;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiveExecutor.shutdownNow();
+    }
+
+    // Children first on both sides: session_tasks references sessions
+    private int moveBatch(LocalDateTime finishedBefore) {
+        List<UUID> sessionIds = sessionRepository.lockArchivableSessionIds(finishedBefore, Limit.of(properties.getBatchSize()));
+        if (sessionIds.isEmpty()) {
+            return 0;
+        }
+        sessionRepository.copySessionsToArchive(sessionIds);
+        sessionRepository.copySessionTasksToArchive(sessionIds);
+        sessionParticipantRepository.copyParticipantsToArchive(sessionIds);
+        sessionRepository.deleteSessionTasks(sessionIds);
+        sessionParticipantRepository.deleteBySessionIds(sessionIds);
+        sessionRepository.deleteSessions(sessionIds);
+        return sessionIds.size();
+    }
+
+    private void archiveQuietly() {
+        try {
+            archiveFinishedSessions();
+        } catch (RuntimeException e) {
+            log.warn("Session archival run failed: {}", e.getMessage());
+        }
+    }
+}
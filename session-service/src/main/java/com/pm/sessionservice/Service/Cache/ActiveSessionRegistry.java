@@ -0,0 +1,204 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.pm.sessionservice.Config.ActiveSessionRegistryProperties;
+import com.pm.sessionservice.Repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of user -> ACTIVE session, used for conflict checks
+ *
+ * - Positive entries are installed when a user creates or joins a session
+ * - Negative entries ("no active session") are cached too, since most checks on create miss
+ * - Entries pointing at a session are dropped when that session stops being ACTIVE
+ * - A session becoming ACTIVE again invalidates every negative entry at once (generation bump)
+ * - A session going inactive is stamped with a sequence number; a positive result loaded or registered
+ *   before that stamp is not stored, so a slow lookup cannot reinstall a user the deactivation just removed
+ * - A sessionId -> users index finds a session's entries without scanning the cache
+ * - Misses fall back to one indexed lookup, run outside any cache lock; all changes apply after commit
+ * - Changes made on other replicas arrive through SessionInvalidationBus
+ */
+@Component
+public class ActiveSessionRegistry {
+
+    public static final String CACHE_NAME = "active-sessions";
+
+    private final Cache<UUID, Entry> cache;
+    private final SessionRepository sessionRepository;
+    private final AtomicLong negativeGeneration = new AtomicLong();
+    private final AtomicLong deactivationSequence = new AtomicLong();
+    // sessionId -> deactivationSequence value when it last went inactive; only needs to outlive in-flight lookups
+    private final Cache<UUID, Long> deactivatedAt;
+    private final ConcurrentMap<UUID, Set<UUID>> usersBySession = new ConcurrentHashMap<>();
+
+    public ActiveSessionRegistry(ActiveSessionRegistryProperties properties,
+                                 SessionRepository sessionRepository,
+                                 MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .evictionListener((UUID userId, Entry entry, RemovalCause cause) -> {
+                    if (userId != null && entry != null) {
+                        unindex(entry.sessionId(), userId);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.deactivatedAt = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean hasActiveSession(UUID userId) {
+        return findActiveSessionId(userId).isPresent();
+    }
+
+    public Optional<UUID> findActiveSessionId(UUID userId) {
+        Entry entry = cache.getIfPresent(userId);
+        if (entry != null && !entry.isStale(negativeGeneration.get())) {
+            return Optional.ofNullable(entry.sessionId());
+        }
+        // Captured before the query so a reactivation or deactivation that commits meanwhile discards this result
+        long generation = negativeGeneration.get();
+        long deactivations = deactivationSequence.get();
+        UUID sessionId = loadActiveSessionId(userId);
+        if (sessionId == null) {
+            cache.asMap().compute(userId, (id, existing) ->
+                    existing != null && !existing.isStale(negativeGeneration.get()) ? existing : new Entry(null, generation));
+        } else {
+            store(userId, sessionId, deactivations);
+        }
+        return Optional.ofNullable(sessionId);
+    }
+
+    // The user created or joined an ACTIVE session
+    public void register(UUID userId, UUID sessionId) {
+        long deactivations = deactivationSequence.get();
+        afterCommit(() -> store(userId, sessionId, deactivations));
+    }
+
+    // The user left or was removed; they may still be active elsewhere, so re-check on next lookup
+    public void unregister(UUID userId) {
+        remove(userId);
+        afterCommit(() -> remove(userId));
+    }
+
+    // The session ended, was paused or deleted: none of its users are active through it any more
+    public void sessionDeactivated(UUID sessionId) {
+        afterCommit(() -> deactivate(sessionId));
+    }
+
+    // The session became ACTIVE again: users cached as "no active session" may now be in it
+    public void sessionReactivated() {
+        negativeGeneration.incrementAndGet();
+        afterCommit(negativeGeneration::incrementAndGet);
+    }
+
+    public void evictAll() {
+        cache.asMap().keySet().forEach(this::remove);
+    }
+
+    // Another replica changed these sessions: it may have ended them or admitted users this node cached as inactive
+    public void evictSessions(Collection<UUID> sessionIds) {
+        sessionIds.forEach(this::deactivate);
+        negativeGeneration.incrementAndGet();
+    }
+
+    // Stamp first, then detach the users: a concurrent store either lands in the detached set or sees the stamp
+    private void deactivate(UUID sessionId) {
+        deactivatedAt.put(sessionId, deactivationSequence.incrementAndGet());
+        Set<UUID> userIds = usersBySession.remove(sessionId);
+        if (userIds != null) {
+            userIds.forEach(userId -> cache.asMap().computeIfPresent(userId, (id, entry) ->
+                    sessionId.equals(entry.sessionId()) ? null : entry));
+        }
+    }
+
+    // Installs a positive entry unless the session went inactive after the caller read `deactivations`
+    private void store(UUID userId, UUID sessionId, long deactivations) {
+        cache.asMap().compute(userId, (id, existing) -> {
+            index(sessionId, id);
+            if (deactivatedAt.asMap().getOrDefault(sessionId, 0L) > deactivations) {
+                unindex(sessionId, id);
+                return existing != null && sessionId.equals(existing.sessionId()) ? null : existing;
+            }
+            if (existing != null && !sessionId.equals(existing.sessionId())) {
+                unindex(existing.sessionId(), id);
+            }
+            return new Entry(sessionId, negativeGeneration.get());
+        });
+    }
+
+    private void remove(UUID userId) {
+        cache.asMap().computeIfPresent(userId, (id, entry) -> {
+            unindex(entry.sessionId(), id);
+            return null;
+        });
+    }
+
+    private void index(UUID sessionId, UUID userId) {
+        usersBySession.compute(sessionId, (id, userIds) -> {
+            Set<UUID> indexed = userIds != null ? userIds : ConcurrentHashMap.newKeySet();
+            indexed.add(userId);
+            return indexed;
+        });
+    }
+
+    private void unindex(UUID sessionId, UUID userId) {
+        if (sessionId != null) {
+            usersBySession.computeIfPresent(sessionId, (id, userIds) -> {
+                userIds.remove(userId);
+                return userIds.isEmpty() ? null : userIds;
+            });
+        }
+    }
+
+    // Users indexed under the session, for tests
+    Set<UUID> indexedUsers(UUID sessionId) {
+        return Set.copyOf(usersBySession.getOrDefault(sessionId, Set.of()));
+    }
+
+    // One statement; a user is normally in at most one ACTIVE session so it returns 0 or 1 rows
+    private UUID loadActiveSessionId(UUID userId) {
+        List<UUID> sessionIds = sessionRepository.findActiveSessionIdsForUser(userId);
+        return sessionIds.isEmpty() ? null : sessionIds.get(0);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // sessionId == null is a negative entry, valid only for the generation it was read in
+    private record Entry(UUID sessionId, long generation) {
+        private boolean isStale(long currentGeneration) {
+            return sessionId == null && generation != currentGeneration;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.pm.sessionservice.Service.Cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Half-open [start, end) windows keyed by session id, for overlap queries
+ *
+ * - AVL tree ordered by (start, id), each node carrying the latest end in its subtree
+ * - put/remove are O(log n); an overlap query is O(log n + matches), since subtrees that end
+ *   before the window or start after it are never visited
+ * - Stored windows may overlap each other; nothing here assumes they are disjoint
+ * - Synchronized: one tree per user, so contention is limited to that user's requests
+ */
+final class IntervalTree {
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+
+    // Adds the window, replacing any previous window of the same session
+    synchronized void put(UUID id, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Window must end after it starts: " + start + " - " + end);
+        }
+        removeNode(id);
+        Node node = new Node(id, start, end);
+        root = insert(root, node);
+        nodes.put(id, node);
+    }
+
+    synchronized boolean remove(UUID id) {
+        return removeNode(id);
+    }
+
+    // Ids of stored windows sharing at least one instant with [start, end)
+    synchronized List<UUID> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<UUID> matches = new ArrayList<>();
+        collect(root, start, end, matches);
+        return matches;
+    }
+
+    synchronized boolean containsAny(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            if (nodes.containsKey(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    private boolean removeNode(UUID id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, List<UUID> matches) {
+        // Nothing below ends after the window starts
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collect(node.left, start, end, matches);
+        // This node and everything to its right start at or after the window ends
+        if (!node.start.isBefore(end)) {
+            return;
+        }
+        if (node.end.isAfter(start)) {
+            matches.add(node.id);
+        }
+        collect(node.right, start, end, matches);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(removed, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, removed);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, removed);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Splice the in-order successor into this position; nodes are never copied, so the id map stays valid
+            Node successor = min(node.right);
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node min(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(Node a, Node b) {
+        int cmp = a.start.compareTo(b.start);
+        return cmp != 0 ? cmp : a.id.compareTo(b.id);
+    }
+
+    private static final class Node {
+        private final UUID id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(UUID id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pm.sessionservice.Config.SessionCacheProperties;
+import com.pm.sessionservice.Mapper.SessionMapper;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory write-through cache of live (ACTIVE/PAUSED) sessions
+ *
+ * - Bounded by size and evicted after a TTL since the last write
+ * - Holds detached snapshots only; callers always receive their own copy
+ * - Writes are published after commit so readers never see uncommitted state
+ * - Remembers the last committed version of each session it saw written, and never lets a reader
+ *   install an older row (a read that started before a commit and finishes after it)
+ * - Hit/miss/eviction statistics are exported as "cache.*" meters with cache=sessions
+ * - Writes made on other replicas are evicted through SessionInvalidationBus. This replica never saw
+ *   their version, so each such eviction is stamped with a sequence number instead, and a row whose
+ *   load started before the stamp is not cached
+ */
+@Component
+public class SessionCache {
+
+    public static final String CACHE_NAME = "sessions";
+
+    private final Cache<UUID, Session> cache;
+    private final Cache<UUID, Long> committedVersions;
+    private final AtomicLong evictionSequence = new AtomicLong();
+    // sessionId -> evictionSequence value when another replica last changed it; only needs to outlive in-flight loads
+    private final Cache<UUID, Long> evictedAt;
+    // evictionSequence value of the last evictAll (notifications may have been missed meanwhile)
+    private volatile long allEvictedAt;
+    private final SessionMapper sessionMapper;
+
+    public SessionCache(SessionCacheProperties properties, SessionMapper sessionMapper, MeterRegistry meterRegistry) {
+        this.sessionMapper = sessionMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.committedVersions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<Session> get(UUID sessionId) {
+        Session cached = cache.getIfPresent(sessionId);
+        return Optional.ofNullable(cached).map(sessionMapper::copySession);
+    }
+
+    /**
+     * Stamp to capture before reading a session from the database and hand to {@link #populate}.
+     */
+    public long loadStamp() {
+        return evictionSequence.get();
+    }
+
+    /**
+     * Caches a session that was just read from the database.
+     * Never overwrites an entry, never installs a version older than the last committed write, and never
+     * installs a row loaded before another replica's change to it was evicted (loadStamp taken before the read),
+     * so a slow reader cannot replace or resurrect a newer value.
+     * Inside a transaction the row may carry that transaction's own uncommitted writes
+     * (an earlier mutation of the same actor batch), so it is only installed after commit.
+     */
+    public Session populate(Session session, long loadStamp) {
+        if (!isCacheable(session)) {
+            return session;
+        }
+        Session snapshot = sessionMapper.copySession(session);
+        afterCommit(() -> cache.asMap().compute(session.getSessionId(), (sessionId, existing) ->
+                existing != null
+                        || isOlderThanCommitted(sessionId, snapshot.getVersion())
+                        || isEvictedSince(sessionId, loadStamp) ? existing : snapshot));
+        return session;
+    }
+
+    /**
+     * Write-through after a save. The entry is dropped immediately and the new
+     * snapshot installed once the surrounding transaction commits.
+     * The snapshot is taken now (saves are flushed, so it already carries the new version):
+     * later changes to the same managed entity, which may yet be rolled back, are not published.
+     */
+    public void put(Session session) {
+        Session snapshot = sessionMapper.copySession(session);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(session.getSessionId());
+        }
+        afterCommit(() -> publish(snapshot));
+    }
+
+    /**
+     * Drops a session now and again after commit, for writes whose new row this replica does not hold (other replicas).
+     * Loads that started before this call can no longer populate it.
+     */
+    public void evict(UUID sessionId) {
+        // Stamp first, then drop: a concurrent populate either sees the stamp or is dropped here
+        evictedAt.put(sessionId, evictionSequence.incrementAndGet());
+        cache.invalidate(sessionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(sessionId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        allEvictedAt = evictionSequence.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // Installs (or, for a session no longer live, removes) the committed state and raises the version floor
+    private void publish(Session snapshot) {
+        Long version = snapshot.getVersion();
+        cache.asMap().compute(snapshot.getSessionId(), (sessionId, existing) -> {
+            if (version != null) {
+                committedVersions.asMap().merge(sessionId, version, Math::max);
+            }
+            return isCacheable(snapshot) ? snapshot : null;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private boolean isOlderThanCommitted(UUID sessionId, Long version) {
+        Long committed = committedVersions.getIfPresent(sessionId);
+        return committed != null && version != null && version < committed;
+    }
+
+    private boolean isEvictedSince(UUID sessionId, long loadStamp) {
+        return allEvictedAt > loadStamp || evictedAt.asMap().getOrDefault(sessionId, 0L) > loadStamp;
+    }
+
+    private boolean isCacheable(Session session) {
+        return !Boolean.TRUE.equals(session.getIsDeleted())
+                && (session.getStatus() == SessionStatus.ACTIVE || session.getStatus() == SessionStatus.PAUSED);
+    }
+}
@@ -0,0 +1,274 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.pm.sessionservice.Config.CacheInvalidationProperties;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.Service.Stream.SessionProgressBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-replica invalidation of the session cache, active-session registry and window index over PostgreSQL LISTEN/NOTIFY
+ *
+ * - Every committed session change (SessionChangedEvent, after commit) queues the session id
+ * - Every batchWindow the queue is drained into NOTIFY payloads of "origin|id,id,...", so a burst of
+ *   writes costs one NOTIFY per maxIdsPerNotification sessions; duplicates within a window collapse
+ * - Each replica holds one dedicated connection that LISTENs and evicts the ids it receives,
+ *   skipping its own payloads (it already applied them locally)
+ * - Received ids also refresh this replica's progress streams, so SSE subscribers see changes made elsewhere
+ * - Notifications sent while a listener is disconnected are lost, so every (re)connect flushes both
+ *   caches entirely before trusting NOTIFY again
+ * - Ids queued when a NOTIFY fails are put back for the next window
+ */
+@Component
+@ConditionalOnProperty(prefix = "session.cache-invalidation", name = "enabled", havingValue = "true")
+public class SessionInvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(SessionInvalidationBus.class);
+
+    private static final int MAX_IDS_PER_PAYLOAD = 200; // 36-char ids plus separators stay under the 8000-byte limit
+
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionCache sessionCache;
+    private final ActiveSessionRegistry activeSessionRegistry;
+    private final SessionWindowIndex sessionWindowIndex;
+    private final SessionProgressBroadcaster progressBroadcaster;
+    private final String origin = UUID.randomUUID().toString();
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService publishExecutor;
+    private final Counter publishedIds;
+    private final Counter notificationsSent;
+    private final Counter receivedIds;
+    private final Counter fullFlushes;
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    public SessionInvalidationBus(CacheInvalidationProperties properties,
+                                  DataSourceProperties dataSourceProperties,
+                                  JdbcTemplate jdbcTemplate,
+                                  SessionCache sessionCache,
+                                  ActiveSessionRegistry activeSessionRegistry,
+                                  SessionWindowIndex sessionWindowIndex,
+                                  SessionProgressBroadcaster progressBroadcaster,
+                                  MeterRegistry meterRegistry) {
+        if (properties.getMaxIdsPerNotification() < 1 || properties.getMaxIdsPerNotification() > MAX_IDS_PER_PAYLOAD) {
+            throw new IllegalArgumentException("session.cache-invalidation.max-ids-per-notification must be between 1 and "
+                    + MAX_IDS_PER_PAYLOAD);
+        }
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionCache = sessionCache;
+        this.activeSessionRegistry = activeSessionRegistry;
+        this.sessionWindowIndex = sessionWindowIndex;
+        this.progressBroadcaster = progressBroadcaster;
+        this.publishExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedIds = Counter.builder("session.cache.invalidations.published")
+                .description("Session ids sent to other replicas")
+                .register(meterRegistry);
+        this.notificationsSent = Counter.builder("session.cache.invalidations.notifications")
+                .description("NOTIFY statements sent")
+                .register(meterRegistry);
+        this.receivedIds = Counter.builder("session.cache.invalidations.received")
+                .description("Session ids evicted on behalf of other replicas")
+                .register(meterRegistry);
+        this.fullFlushes = Counter.builder("session.cache.invalidations.full-flushes")
+                .description("Whole-cache flushes after the listener (re)connected")
+                .register(meterRegistry);
+        meterRegistry.gauge("session.cache.invalidations.pending", pending, Set::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:")) {
+            log.warn("Session cache invalidation needs PostgreSQL; not starting on {}", dataSourceProperties.determineUrl());
+            return;
+        }
+        running = true;
+        long windowMillis = properties.getBatchWindow().toMillis();
+        publishExecutor.scheduleWithFixedDelay(this::publishQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        listenerThread = new Thread(this::listenLoop, "session-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        pending.add(event.getSessionId());
+    }
+
+    // Sends everything queued so far; returns the number of NOTIFY statements issued
+    public int publish() {
+        List<String> payloads = drainPayloads();
+        int sent = 0;
+        for (String payload : payloads) {
+            try {
+                jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    return statement.execute();
+                });
+            } catch (RuntimeException e) {
+                // This and every later payload go back to the queue for the next window
+                payloads.subList(sent, payloads.size()).forEach(this::requeue);
+                throw e;
+            }
+            sent++;
+            notificationsSent.increment();
+            publishedIds.increment(payload.chars().filter(c -> c == ',').count() + 1);
+        }
+        return sent;
+    }
+
+    // Drains the queue into "origin|id,id,..." payloads of at most maxIdsPerNotification ids
+    List<String> drainPayloads() {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = null;
+        int idsInPayload = 0;
+        Iterator<UUID> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            UUID sessionId = iterator.next();
+            iterator.remove();
+            if (payload == null) {
+                payload = new StringBuilder(origin).append('|');
+            } else {
+                payload.append(',');
+            }
+            payload.append(sessionId);
+            if (++idsInPayload == properties.getMaxIdsPerNotification()) {
+                payloads.add(payload.toString());
+                payload = null;
+                idsInPayload = 0;
+            }
+        }
+        if (payload != null) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    // Applies one received payload; this replica's own payloads are ignored
+    void onNotification(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(origin)) {
+            return;
+        }
+        Set<UUID> sessionIds = new LinkedHashSet<>();
+        for (String id : payload.substring(separator + 1).split(",")) {
+            try {
+                sessionIds.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed session id '{}' in cache invalidation", id);
+            }
+        }
+        sessionIds.forEach(sessionCache::evict);
+        activeSessionRegistry.evictSessions(sessionIds);
+        sessionWindowIndex.evictSessions(sessionIds);
+        // After the evictions, so the refreshed snapshots are read from the database
+        progressBroadcaster.sessionsChanged(sessionIds);
+        receivedIds.increment(sessionIds.size());
+    }
+
+    // Anything may have changed while no one was listening
+    void onListening() {
+        sessionCache.evictAll();
+        activeSessionRegistry.evictAll();
+        sessionWindowIndex.evictAll();
+        progressBroadcaster.refreshAll();
+        fullFlushes.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread listener = listenerThread;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        publishExecutor.shutdownNow();
+        if (listener != null) {
+            publishQuietly();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                // Flushed only once LISTEN is active, so nothing committed after this point can be missed
+                onListening();
+                log.info("Listening for session cache invalidations on channel {}", properties.getChannel());
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeoutMillis = (int) properties.getListenTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Session cache invalidation listener lost its connection, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void requeue(String payload) {
+        for (String id : payload.substring(payload.indexOf('|') + 1).split(",")) {
+            pending.add(UUID.fromString(id));
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            log.warn("Session cache invalidation publish failed, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pm.sessionservice.Config.SessionWindowProperties;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionWindowView;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory index of user -> planned windows of their SCHEDULED/ACTIVE/PAUSED sessions, for overlap checks
+ *
+ * - One IntervalTree per user, loaded on first use with a single (owner_id, status) query
+ * - Every session write passes its new state in; the user's tree is updated after commit, so a
+ *   load racing with the commit still ends up with the window
+ * - Finished, cancelled or deleted sessions leave the tree
+ * - Changes made on other replicas arrive through SessionInvalidationBus and drop the affected trees
+ */
+@Component
+public class SessionWindowIndex {
+
+    public static final String CACHE_NAME = "session-windows";
+
+    private final Cache<UUID, IntervalTree> cache;
+    private final SessionRepository sessionRepository;
+    private final SessionWindowProperties properties;
+
+    public SessionWindowIndex(SessionWindowProperties properties,
+                              SessionRepository sessionRepository,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sessionRepository = sessionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // End of the planned window starting at start; plannedDurationMinutes falls back to the configured default
+    public LocalDateTime plannedEnd(LocalDateTime start, Integer plannedDurationMinutes) {
+        return plannedDurationMinutes != null
+                ? start.plusMinutes(plannedDurationMinutes)
+                : start.plus(properties.getDefaultPlannedDuration());
+    }
+
+    // The user's live or scheduled sessions whose planned window overlaps [start, end)
+    public List<UUID> findConflicts(UUID userId, LocalDateTime start, LocalDateTime end) {
+        return cache.get(userId, this::load).overlapping(start, end);
+    }
+
+    // Called with every saved session; applies after commit
+    public void update(Session session) {
+        UUID ownerId = session.getOwnerId();
+        if (ownerId == null) {
+            return;
+        }
+        UUID sessionId = session.getSessionId();
+        LocalDateTime start = windowStart(session);
+        LocalDateTime end = session.getPlannedEndTime();
+        boolean live = isLive(session) && start != null && end != null && start.isBefore(end);
+        // computeIfPresent waits for a load of the same user in progress, then applies on top of it
+        afterCommit(() -> cache.asMap().computeIfPresent(ownerId, (user, tree) -> {
+            if (live) {
+                tree.put(sessionId, start, end);
+            } else {
+                tree.remove(sessionId);
+            }
+            return tree;
+        }));
+    }
+
+    // Another replica changed these sessions: reload the trees that hold any of them
+    public void evictSessions(Collection<UUID> sessionIds) {
+        cache.asMap().values().removeIf(tree -> tree.containsAny(sessionIds));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private IntervalTree load(UUID userId) {
+        IntervalTree tree = new IntervalTree();
+        for (SessionWindowView window : sessionRepository.findLiveSessionWindows(userId)) {
+            if (window.getWindowStart() != null && window.getWindowStart().isBefore(window.getWindowEnd())) {
+                tree.put(window.getSessionId(), window.getWindowStart(), window.getWindowEnd());
+            }
+        }
+        return tree;
+    }
+
+    private static LocalDateTime windowStart(Session session) {
+        return session.getScheduledTime() != null ? session.getScheduledTime() : session.getStartTime();
+    }
+
+    private static boolean isLive(Session session) {
+        return !Boolean.TRUE.equals(session.getIsDeleted())
+                && (session.getStatus() == SessionStatus.SCHEDULED
+                || session.getStatus() == SessionStatus.ACTIVE
+                || session.getStatus() == SessionStatus.PAUSED);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.pm.sessionservice.Service.Enrichment;
+
+import com.pm.sessionservice.Config.ProgressEnrichmentProperties;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.DTO.UserSummaryDTO;
+import com.pm.sessionservice.Service.Task.TaskDirectoryBackend;
+import com.pm.sessionservice.Service.User.UserDirectoryClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fills the cross-service parts of a progress response
+ *
+ * - Participant usernames (user-service) and completed tasks (task-service) are fetched in parallel,
+ *   each on its own virtual thread with its own deadline, so the wait is the slower call, not the sum
+ * - A call that fails or misses its deadline falls back (IDs without usernames, no completed tasks)
+ *   and marks the response partial instead of failing it
+ * - Runs outside any transaction, so no JDBC connection is held while waiting on remote services
+ */
+@Component
+public class SessionProgressEnricher {
+    private static final Logger log = LoggerFactory.getLogger(SessionProgressEnricher.class);
+
+    private final UserDirectoryClient userDirectoryClient;
+    private final TaskDirectoryBackend taskDirectoryBackend;
+    private final ProgressEnrichmentProperties properties;
+    private final ExecutorService enrichmentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter userDirectoryFallbacks;
+    private final Counter taskDirectoryFallbacks;
+
+    public SessionProgressEnricher(UserDirectoryClient userDirectoryClient,
+                                   TaskDirectoryBackend taskDirectoryBackend,
+                                   ProgressEnrichmentProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.userDirectoryClient = userDirectoryClient;
+        this.taskDirectoryBackend = taskDirectoryBackend;
+        this.properties = properties;
+        this.userDirectoryFallbacks = fallbackCounter(meterRegistry, "user-directory");
+        this.taskDirectoryFallbacks = fallbackCounter(meterRegistry, "task-directory");
+    }
+
+    public void enrich(SessionProgressDTO progress) {
+        List<UUID> participantIds = progress.getActiveParticipants() != null ? progress.getActiveParticipants() : List.of();
+        boolean hasTasks = progress.getTotalTasks() != null && progress.getTotalTasks() > 0;
+
+        CompletableFuture<List<UserSummaryDTO>> participants = participantIds.isEmpty()
+                ? CompletableFuture.completedFuture(List.of())
+                : withDeadline(() -> resolveParticipants(participantIds), properties.getUserDirectoryDeadline(),
+                        userDirectoryFallbacks, progress.getSessionId());
+        CompletableFuture<Set<UUID>> completedTasks = hasTasks
+                ? withDeadline(() -> taskDirectoryBackend.getCompletedTaskIds(progress.getSessionId()),
+                        properties.getTaskDirectoryDeadline(), taskDirectoryFallbacks, progress.getSessionId())
+                : CompletableFuture.completedFuture(Set.of());
+
+        // Both futures settle by their own deadline, so join() never outlives the slower of the two
+        List<UserSummaryDTO> resolvedParticipants = participants.join();
+        Set<UUID> completedTaskIds = completedTasks.join();
+
+        progress.setParticipants(resolvedParticipants != null ? resolvedParticipants : unresolved(participantIds));
+        progress.setCompletedTaskIds(completedTaskIds != null ? new ArrayList<>(completedTaskIds) : new ArrayList<>());
+        progress.setTasksCompleted(completedTaskIds != null ? completedTaskIds.size() : 0);
+        progress.setPartial(resolvedParticipants == null || completedTaskIds == null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        enrichmentExecutor.shutdownNow();
+    }
+
+    // Completes with the call's result, or with null once it fails or its deadline passes
+    private <T> CompletableFuture<T> withDeadline(Supplier<T> call, Duration deadline, Counter fallbacks, UUID sessionId) {
+        return CompletableFuture.supplyAsync(call, enrichmentExecutor)
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(failure -> {
+                    fallbacks.increment();
+                    log.debug("Progress enrichment for session {} fell back: {}", sessionId, failure.toString());
+                    return null;
+                });
+    }
+
+    private List<UserSummaryDTO> resolveParticipants(List<UUID> participantIds) {
+        Map<UUID, String> usernames = userDirectoryClient.getUsernames(participantIds);
+        List<UserSummaryDTO> participants = new ArrayList<>(participantIds.size());
+        for (UUID participantId : participantIds) {
+            participants.add(new UserSummaryDTO(participantId, usernames.get(participantId)));
+        }
+        return participants;
+    }
+
+    private List<UserSummaryDTO> unresolved(List<UUID> participantIds) {
+        return participantIds.stream().map(participantId -> new UserSummaryDTO(participantId, null)).toList();
+    }
+
+    private Counter fallbackCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("session.progress.enrichment.fallbacks")
+                .description("Progress responses answered without a dependency's data")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
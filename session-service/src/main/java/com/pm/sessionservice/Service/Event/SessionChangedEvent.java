@@ -0,0 +1,13 @@
+package com.pm.sessionservice.Service.Event;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+// Published in-process whenever a session's persisted state changes
+@Data
+@Builder
+public class SessionChangedEvent {
+    private UUID sessionId;
+}
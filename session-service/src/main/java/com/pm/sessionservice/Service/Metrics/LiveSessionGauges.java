@@ -0,0 +1,87 @@
+package com.pm.sessionservice.Service.Metrics;
+
+import com.pm.sessionservice.Config.SessionMetricsProperties;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges for the live state of the service
+ *
+ * - session.active: ACTIVE sessions
+ * - session.participants.live: participants currently in the room of an ACTIVE session
+ * - session.waiting-for-break-selection: ACTIVE sessions whose work phase ended and await a break choice
+ * - Values are re-counted every gaugeRefreshInterval, so a scrape never touches the database
+ */
+@Component
+public class LiveSessionGauges {
+    private static final Logger log = LoggerFactory.getLogger(LiveSessionGauges.class);
+
+    private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
+    private final SessionMetricsProperties properties;
+    private final AtomicLong activeSessions = new AtomicLong();
+    private final AtomicLong liveParticipants = new AtomicLong();
+    private final AtomicLong waitingForBreakSelection = new AtomicLong();
+    private final ScheduledExecutorService refreshExecutor;
+
+    public LiveSessionGauges(SessionRepository sessionRepository,
+                             SessionParticipantRepository sessionParticipantRepository,
+                             SessionMetricsProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.sessionParticipantRepository = sessionParticipantRepository;
+        this.properties = properties;
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-session-gauges");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("session.active", activeSessions, AtomicLong::get)
+                .description("ACTIVE sessions")
+                .register(meterRegistry);
+        Gauge.builder("session.participants.live", liveParticipants, AtomicLong::get)
+                .description("Participants currently in an ACTIVE session")
+                .register(meterRegistry);
+        Gauge.builder("session.waiting-for-break-selection", waitingForBreakSelection, AtomicLong::get)
+                .description("ACTIVE sessions waiting for a break to be selected")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long refreshMillis = properties.getGaugeRefreshInterval().toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void refresh() {
+        activeSessions.set(sessionRepository.countActiveSessions());
+        liveParticipants.set(sessionParticipantRepository.countLiveParticipants());
+        waitingForBreakSelection.set(sessionRepository.countSessionsWaitingForBreakSelection());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Live session gauge refresh failed: {}", e.getMessage());
+        }
+    }
+}
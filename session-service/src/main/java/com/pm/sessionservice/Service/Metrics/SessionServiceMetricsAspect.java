@@ -0,0 +1,62 @@
+package com.pm.sessionservice.Service.Metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Instruments every public SessionService operation
+ *
+ * - session.service.calls: latency timer per method and outcome, with a percentile histogram
+ * - session.service.errors: failures per method and exception type
+ * - session.service.statements: SQL statements Hibernate prepared during the call, per method
+ */
+@Aspect
+@Component
+public class SessionServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter statementCounter;
+
+    public SessionServiceMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter statementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Around("execution(public * com.pm.sessionservice.Service.SessionService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        long statementsBefore = statementCounter.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            Counter.builder("session.service.errors")
+                    .description("SessionService operations that threw, by exception type")
+                    .tag("method", method)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("session.service.calls")
+                    .description("SessionService operation latency")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            DistributionSummary.builder("session.service.statements")
+                    .description("SQL statements prepared per SessionService operation")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(statementCounter.current() - statementsBefore);
+        }
+    }
+}
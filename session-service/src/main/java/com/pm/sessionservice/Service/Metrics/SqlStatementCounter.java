@@ -0,0 +1,37 @@
+package com.pm.sessionservice.Service.Metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread
+ *
+ * - Registered as the session factory's statement inspector; the SQL is passed through unchanged
+ * - Callers read the counter before and after a unit of work and take the difference
+ * - Statements issued through JdbcTemplate bypass Hibernate and are not counted
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<long[]> statements = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        statements.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    // Statements prepared on this thread so far; only differences between two reads are meaningful
+    public long current() {
+        return statements.get()[0];
+    }
+}
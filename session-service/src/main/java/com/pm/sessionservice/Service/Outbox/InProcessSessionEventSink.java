@@ -0,0 +1,43 @@
+package com.pm.sessionservice.Service.Outbox;
+
+import com.pm.sessionservice.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sink for local runs and tests: keeps the most recent relayed events in memory
+ */
+@Component
+@ConditionalOnProperty(prefix = "session.outbox", name = "sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessSessionEventSink implements SessionEventSink {
+
+    private static final int HISTORY_SIZE = 10_000;
+
+    private final Deque<OutboxEvent> recent = new ConcurrentLinkedDeque<>();
+    private final AtomicLong published = new AtomicLong();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            recent.addLast(event);
+            if (published.incrementAndGet() > HISTORY_SIZE) {
+                recent.pollFirst();
+            }
+        }
+    }
+
+    // Relayed events still held in memory, oldest first
+    public List<OutboxEvent> getRecentEvents() {
+        return new ArrayList<>(recent);
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+}
@@ -0,0 +1,62 @@
+package com.pm.sessionservice.Service.Outbox;
+
+import com.pm.sessionservice.Config.OutboxProperties;
+import com.pm.sessionservice.model.OutboxEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Production sink: one record per event on the session events topic, keyed by session id
+ * so each session's events land on one Kafka partition in outbox order.
+ * The whole batch is sent before waiting, so a batch costs about one broker round trip.
+ */
+@Component
+@ConditionalOnProperty(prefix = "session.outbox", name = "sink", havingValue = "kafka")
+public class KafkaSessionEventSink implements SessionEventSink {
+
+    public static final String EVENT_TYPE_HEADER = "event-type";
+    public static final String EVENT_ID_HEADER = "event-id";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties properties;
+
+    public KafkaSessionEventSink(KafkaTemplate<String, String> kafkaTemplate, OutboxProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(
+                    properties.getTopic(), event.getAggregateId().toString(), event.getPayload());
+            record.headers().add(EVENT_TYPE_HEADER, event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+            record.headers().add(EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.getPublishTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Kafka rejected session events: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out publishing " + events.size() + " session events", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing session events", e);
+        }
+    }
+}
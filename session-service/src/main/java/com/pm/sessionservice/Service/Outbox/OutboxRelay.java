@@ -0,0 +1,162 @@
+package com.pm.sessionservice.Service.Outbox;
+
+import com.pm.sessionservice.Config.OutboxProperties;
+import com.pm.sessionservice.Repository.OutboxEventRepository;
+import com.pm.sessionservice.Repository.OutboxPartitionRepository;
+import com.pm.sessionservice.model.OutboxEvent;
+import com.pm.sessionservice.model.OutboxPartition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the session outbox into the configured SessionEventSink
+ *
+ * - Sessions are hashed into partitions; a relay drains a partition only while holding its
+ *   lease row (FOR UPDATE SKIP LOCKED), so replicas split partitions and never reorder a session
+ * - Each partition is drained in id order, batchSize rows per sink call, and the rows are
+ *   deleted in the transaction that published them (at-least-once delivery)
+ * - Runs on its own thread: polled, and woken right after a transaction that wrote events commits,
+ *   so broker latency never sits on the request path
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPartitionRepository outboxPartitionRepository;
+    private final SessionEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final ScheduledExecutorService relayExecutor;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPartitionRepository outboxPartitionRepository,
+                       SessionEventSink sink,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPartitionRepository = outboxPartitionRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedEvents = Counter.builder("session.outbox.published")
+                .description("Session events handed to the sink")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("session.outbox.failed.batches")
+                .description("Outbox batches the sink rejected and that will be retried")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ensurePartitions();
+        long pollMillis = properties.getPollInterval().toMillis();
+        relayExecutor.scheduleWithFixedDelay(this::drainAll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started: {} partitions, batches of {}, sink {}",
+                properties.getPartitions(), properties.getBatchSize(), sink.getClass().getSimpleName());
+    }
+
+    // Called after commit by writers; collapses bursts of commits into one extra drain
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            try {
+                relayExecutor.execute(() -> {
+                    wakeUpPending.set(false);
+                    drainAll();
+                });
+            } catch (RuntimeException e) {
+                wakeUpPending.set(false);
+            }
+        }
+    }
+
+    // One pass over every partition this relay can lease; returns the number of events published
+    public int drainOnce() {
+        int published = 0;
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            try {
+                published += drainPartition(partition);
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Failed to relay outbox partition {}: {}", partition, e.getMessage());
+            }
+        }
+        return published;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdownNow();
+    }
+
+    private void drainAll() {
+        try {
+            while (drainOnce() > 0) {
+                // keep going while partitions are producing full or partial batches
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay pass failed: {}", e.getMessage());
+        }
+    }
+
+    private int drainPartition(int partition) {
+        Integer published = transactionTemplate.execute(status -> {
+            if (outboxPartitionRepository.tryLease(partition).isEmpty()) {
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.findByPartitionKeyOrderByIdAsc(
+                    partition, Limit.of(properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.publish(batch);
+            outboxEventRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+        int count = published != null ? published : 0;
+        publishedEvents.increment(count);
+        return count;
+    }
+
+    private void ensurePartitions() {
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            int partitionId = partition;
+            if (outboxPartitionRepository.existsById(partitionId)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    OutboxPartition lease = new OutboxPartition();
+                    lease.setPartitionId(partitionId);
+                    outboxPartitionRepository.save(lease);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another replica created it first
+            }
+        }
+    }
+}
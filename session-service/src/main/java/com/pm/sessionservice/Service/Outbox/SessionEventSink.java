@@ -0,0 +1,13 @@
+package com.pm.sessionservice.Service.Outbox;
+
+import com.pm.sessionservice.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed session events, in outbox order.
+ * Returning means every event was accepted; throwing leaves the whole batch in the outbox to be retried.
+ */
+public interface SessionEventSink {
+    void publish(List<OutboxEvent> events);
+}
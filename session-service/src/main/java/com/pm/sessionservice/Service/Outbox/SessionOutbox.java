@@ -0,0 +1,76 @@
+package com.pm.sessionservice.Service.Outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.sessionservice.Config.OutboxProperties;
+import com.pm.sessionservice.Repository.OutboxEventRepository;
+import com.pm.sessionservice.Service.Event.SessionEventType;
+import com.pm.sessionservice.model.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Write side of the transactional outbox: events are rows committed (or rolled back)
+ * together with the session change. Nothing here talks to a broker; OutboxRelay does.
+ */
+@Component
+public class SessionOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int partitions;
+
+    public SessionOutbox(OutboxEventRepository outboxEventRepository,
+                         OutboxRelay outboxRelay,
+                         ObjectMapper objectMapper,
+                         EntityManager entityManager,
+                         OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.partitions = properties.getPartitions();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(SessionEventType eventType, UUID sessionId, Object payload) {
+        // Write the session row first: its row lock orders this event after any earlier writer of the same session
+        entityManager.flush();
+
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(sessionId);
+        event.setPartitionKey(partitionOf(sessionId));
+        event.setEventType(eventType);
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+
+    public int partitionOf(UUID sessionId) {
+        return Math.floorMod(sessionId.hashCode(), partitions);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Session event payload is not serializable: " + e.getMessage(), e);
+        }
+    }
+}
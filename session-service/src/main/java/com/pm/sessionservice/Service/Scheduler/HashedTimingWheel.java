@@ -0,0 +1,256 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel for large numbers of coarse-grained deadlines
+ *
+ * - schedule() and cancel() are O(1) and lock-free for callers
+ * - One worker thread advances the wheel; expired tasks are handed to an executor
+ * - Deadlines further away than one revolution are kept in place with a round counter
+ * - Each timeout fires at most once: expiry and cancellation race on a single CAS
+ * - Once closed, schedule() accepts nothing and returns a timeout that never fires
+ */
+public class HashedTimingWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    // Upper bound of timeouts moved from the pending queue into the wheel per tick
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    // Handed out after close(): the deadline is dropped rather than failing the caller
+    private static final Timeout STOPPED = () -> false;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final Thread workerThread;
+    private final long startNanos;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize, Executor taskExecutor) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = createWheel(wheelSize);
+        this.mask = wheel.length - 1;
+        this.taskExecutor = taskExecutor;
+        this.startNanos = System.nanoTime();
+        this.workerThread = new Thread(this::run, name);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (!running) {
+            log.debug("Timing wheel {} is stopped, dropping a timeout", workerThread.getName());
+            return STOPPED;
+        }
+        long delayNanos = Math.max(0, delay.toNanos());
+        long deadline = System.nanoTime() - startNanos + delayNanos;
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        scheduledCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    // Number of timeouts that are scheduled and neither expired nor cancelled
+    public long size() {
+        return scheduledCount.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        workerThread.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    // Sleeps until the current tick ends, returns the tick deadline relative to start
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (running) {
+            long current = System.nanoTime() - startNanos;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999_999);
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    Thread.currentThread().interrupt();
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // Deadlines in the past go into the current bucket
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void fire(WheelTimeout timeout) {
+        if (!timeout.state.compareAndSet(WheelTimeout.ST_INIT, WheelTimeout.ST_EXPIRED)) {
+            return;
+        }
+        scheduledCount.decrementAndGet();
+        try {
+            taskExecutor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            log.warn("Timing wheel task was rejected: {}", e.getMessage());
+        }
+    }
+
+    private Bucket[] createWheel(int wheelSize) {
+        // Round up to a power of two so the bucket index is a mask instead of a modulo
+        int normalized = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        Bucket[] buckets = new Bucket[normalized];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    public interface Timeout {
+        // Returns false if the task already fired or was cancelled before
+        boolean cancel();
+    }
+
+    private final class WheelTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // Only touched by the worker thread
+        private long remainingRounds;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            scheduledCount.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+    }
+
+    // Doubly linked list so cancelled timeouts can be unlinked in O(1)
+    private final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.state.get() != WheelTimeout.ST_INIT) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    fire(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
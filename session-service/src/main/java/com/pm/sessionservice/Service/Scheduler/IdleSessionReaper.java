@@ -0,0 +1,89 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.Config.SessionReaperProperties;
+import com.pm.sessionservice.Service.SessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ends ACTIVE/PAUSED sessions nobody has touched for idleTimeout (owner closed the tab)
+ *
+ * - Idle means updated_at is older than the cutoff; user actions and joins/leaves bump it
+ * - Works in chunks of chunkSize, each locked FOR UPDATE SKIP LOCKED and ended in its own
+ *   transaction through the same path as endSession, so replicas never block on each other
+ * - A sweep stops at the first short chunk or after maxChunksPerSweep chunks
+ */
+@Component
+public class IdleSessionReaper {
+    private static final Logger log = LoggerFactory.getLogger(IdleSessionReaper.class);
+
+    private final SessionService sessionService;
+    private final SessionReaperProperties properties;
+    private final ScheduledExecutorService reaperExecutor;
+    private final Counter reapedSessions;
+
+    public IdleSessionReaper(SessionService sessionService,
+                             SessionReaperProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.sessionService = sessionService;
+        this.properties = properties;
+        this.reaperExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idle-session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reapedSessions = Counter.builder("session.reaper.ended")
+                .description("Idle sessions ended by the reaper")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long sweepMillis = properties.getSweepInterval().toMillis();
+        reaperExecutor.scheduleWithFixedDelay(this::sweepQuietly, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        log.info("Idle session reaper started: idle timeout {}, chunks of {}",
+                properties.getIdleTimeout(), properties.getChunkSize());
+    }
+
+    // One sweep; returns the number of sessions ended
+    public int sweep() {
+        LocalDateTime idleBefore = LocalDateTime.now().minus(properties.getIdleTimeout());
+        int ended = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerSweep(); chunk++) {
+            int count = sessionService.endIdleSessions(idleBefore, properties.getChunkSize());
+            ended += count;
+            reapedSessions.increment(count);
+            if (count < properties.getChunkSize()) {
+                break;
+            }
+        }
+        if (ended > 0) {
+            log.info("Idle session reaper ended {} sessions idle since before {}", ended, idleBefore);
+        }
+        return ended;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reaperExecutor.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("Idle session sweep failed: {}", e.getMessage());
+        }
+    }
+}
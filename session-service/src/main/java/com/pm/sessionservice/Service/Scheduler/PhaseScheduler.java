@@ -0,0 +1,195 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.Config.PhaseEngineProperties;
+import com.pm.sessionservice.Repository.PhaseDeadlineView;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Accounting.FocusTimeAccumulator;
+import com.pm.sessionservice.Service.Cache.SessionCache;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Server-side pomodoro phase engine
+ *
+ * Owns the deadline of every running WORK phase in a single timing wheel. When a
+ * deadline passes the session is flipped to "waiting for break selection" and its
+ * completed work counter incremented by one conditional UPDATE, so a phase is
+ * completed at most once even if several replicas (or a manual completion) race.
+ * Deadlines change only after the write that caused them commits, so a rolled-back
+ * request never replaces or cancels a real deadline. Deadlines are rebuilt from the
+ * sessions table on startup.
+ */
+@Component
+public class PhaseScheduler {
+    private static final Logger log = LoggerFactory.getLogger(PhaseScheduler.class);
+
+    private final SessionRepository sessionRepository;
+    private final SessionCache sessionCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FocusTimeAccumulator focusTimeAccumulator;
+    private final ExecutorService transitionExecutor;
+    private final HashedTimingWheel timingWheel;
+    private final Map<UUID, HashedTimingWheel.Timeout> deadlines = new ConcurrentHashMap<>();
+
+    public PhaseScheduler(SessionRepository sessionRepository,
+                          SessionCache sessionCache,
+                          TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher,
+                          FocusTimeAccumulator focusTimeAccumulator,
+                          PhaseEngineProperties properties) {
+        this.sessionRepository = sessionRepository;
+        this.sessionCache = sessionCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.focusTimeAccumulator = focusTimeAccumulator;
+        AtomicLong threadCount = new AtomicLong();
+        this.transitionExecutor = Executors.newFixedThreadPool(properties.getTransitionThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "phase-transition-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timingWheel = new HashedTimingWheel("phase-timing-wheel",
+                properties.getTickDuration(), properties.getWheelSize(), transitionExecutor);
+    }
+
+    /**
+     * Registers (or replaces) the deadline for the session's current phase.
+     * Only WORK phases of ACTIVE sessions have a deadline; anything else clears it.
+     * Applied after the surrounding transaction commits.
+     */
+    public void schedule(Session session) {
+        UUID sessionId = session.getSessionId();
+        if (Boolean.TRUE.equals(session.getIsDeleted())
+                || session.getStatus() != SessionStatus.ACTIVE
+                || session.getCurrentType() != SessionType.WORK
+                || Boolean.TRUE.equals(session.getIsWaitingForBreakSelection())
+                || session.getCurrentPhaseStartTime() == null) {
+            afterCommit(() -> cancelNow(sessionId));
+            return;
+        }
+        // Captured now: the entity may change again before commit, but the deadline is for this state
+        LocalDateTime phaseStartTime = session.getCurrentPhaseStartTime();
+        int durationMinutes = session.getCurrentDurationMinutes();
+        afterCommit(() -> schedule(sessionId, phaseStartTime, durationMinutes));
+    }
+
+    public void cancel(UUID sessionId) {
+        afterCommit(() -> cancelNow(sessionId));
+    }
+
+    // Whether a deadline is currently held for the session
+    boolean hasDeadline(UUID sessionId) {
+        return deadlines.containsKey(sessionId);
+    }
+
+    // Number of phase deadlines currently held in memory
+    public long scheduledCount() {
+        return timingWheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFromDatabase() {
+        AtomicLong restored = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PhaseDeadlineView> phases = sessionRepository.streamRunningWorkPhases()) {
+                phases.forEach(phase -> {
+                    schedule(phase.getSessionId(), phase.getCurrentPhaseStartTime(), phase.getCurrentDurationMinutes());
+                    restored.incrementAndGet();
+                });
+            }
+        });
+        log.info("Phase engine restored {} running work phase deadlines", restored.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.close();
+        transitionExecutor.shutdownNow();
+    }
+
+    private void schedule(UUID sessionId, LocalDateTime phaseStartTime, int durationMinutes) {
+        LocalDateTime phaseEnd = phaseStartTime.plusMinutes(durationMinutes);
+        Duration delay = Duration.between(LocalDateTime.now(), phaseEnd);
+
+        HashedTimingWheel.Timeout[] holder = new HashedTimingWheel.Timeout[1];
+        holder[0] = timingWheel.schedule(() -> onDeadline(sessionId, durationMinutes, holder[0]), delay);
+
+        HashedTimingWheel.Timeout previous = deadlines.put(sessionId, holder[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void onDeadline(UUID sessionId, int durationMinutes, HashedTimingWheel.Timeout timeout) {
+        deadlines.remove(sessionId, timeout);
+        try {
+            if (expirePhase(sessionId, durationMinutes)) {
+                log.info("Work phase expired for session {}, waiting for break selection", sessionId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply phase transition for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    // One conditional UPDATE; true only for the caller that actually completed the phase
+    boolean expirePhase(UUID sessionId, int durationMinutes) {
+        // Phase must have started at least one full duration ago, so a restarted phase is left alone
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latestPhaseStart = now.minusMinutes(durationMinutes);
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = sessionRepository.completeExpiredWorkPhase(sessionId, durationMinutes, latestPhaseStart);
+            if (rows > 0) {
+                focusTimeAccumulator.creditWorkPhase(sessionId, latestPhaseStart, now);
+                // Write the updated row through rather than evicting, so a reader holding the
+                // pre-expiry row cannot repopulate it after commit
+                sessionRepository.findById(sessionId).ifPresent(sessionCache::put);
+                eventPublisher.publishEvent(SessionChangedEvent.builder().sessionId(sessionId).build());
+            }
+            return rows;
+        });
+        return updated != null && updated > 0;
+    }
+
+    private void cancelNow(UUID sessionId) {
+        HashedTimingWheel.Timeout previous = deadlines.remove(sessionId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.Config.ScheduledSessionProperties;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Service.SessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts SCHEDULED sessions when their scheduledTime comes
+ *
+ * - The due queue is the sessions table itself, read through the partial index on scheduled_time,
+ *   so an idle poll is one empty index range scan and nothing is held in memory
+ * - Each poll claims batches of batchSize with FOR UPDATE SKIP LOCKED and starts each batch in its
+ *   own transaction through the same path as createSession; replicas never wait on each other
+ * - A spike (thousands of sessions at 9:00) is drained batch by batch, shared between replicas,
+ *   instead of every replica racing for every row
+ * - Replicas start polling at a random offset within one interval so their polls interleave
+ */
+@Component
+public class ScheduledSessionActivator {
+    private static final Logger log = LoggerFactory.getLogger(ScheduledSessionActivator.class);
+
+    private final SessionService sessionService;
+    private final ScheduledSessionProperties properties;
+    private final ScheduledExecutorService activatorExecutor;
+    private final Counter activatedSessions;
+    private final Timer activationLag;
+
+    public ScheduledSessionActivator(SessionService sessionService,
+                                     ScheduledSessionProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.sessionService = sessionService;
+        this.properties = properties;
+        this.activatorExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-session-activator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.activatedSessions = Counter.builder("session.scheduled.activated")
+                .description("Scheduled sessions started by the activator")
+                .register(meterRegistry);
+        this.activationLag = Timer.builder("session.scheduled.activation.lag")
+                .description("Delay between a session's scheduled time and its actual start")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long pollMillis = properties.getPollInterval().toMillis();
+        long initialDelay = ThreadLocalRandom.current().nextLong(pollMillis + 1);
+        activatorExecutor.scheduleWithFixedDelay(this::pollQuietly, initialDelay, pollMillis, TimeUnit.MILLISECONDS);
+        log.info("Scheduled session activator started: polling every {}, batches of {}",
+                properties.getPollInterval(), properties.getBatchSize());
+    }
+
+    // One poll; returns the number of sessions started
+    public int poll() {
+        LocalDateTime dueBy = LocalDateTime.now();
+        int started = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerPoll(); batch++) {
+            List<SessionResponseDTO> activated = sessionService.activateDueSessions(dueBy, properties.getBatchSize());
+            for (SessionResponseDTO session : activated) {
+                activationLag.record(Duration.between(session.getScheduledTime(), session.getStartTime()));
+            }
+            started += activated.size();
+            activatedSessions.increment(activated.size());
+            if (activated.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (started > 0) {
+            log.info("Scheduled session activator started {} sessions due by {}", started, dueBy);
+        }
+        return started;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        activatorExecutor.shutdownNow();
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Scheduled session poll failed: {}", e.getMessage());
+        }
+    }
+}
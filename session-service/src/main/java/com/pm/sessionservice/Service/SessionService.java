@@ -17,14 +17,17 @@ public interface SessionService {
     void deleteSession(UUID sessionId, UUID ownerId);
 
     // Session lookup methods
-    SessionResponseDTO getCurrentActiveSession(UUID userId);
+    SessionResponseDTO getCurrentActiveSession(UUID userId, boolean includeTasks);
     boolean hasActiveSession(UUID userId);
     SessionResponseDTO getSessionByInviteCode(String inviteCode);
+    SessionHistoryPageDTO getSessionHistory(UUID userId, String cursor, Integer limit);
 
     //Session Lifecycle Management
     SessionResponseDTO endSession(UUID sessionId, UUID userId, EndSessionRequestDTO endSessionRequestDTO);
     SessionResponseDTO resumeSession(UUID sessionId, UUID userId);
     SessionResponseDTO pauseSession(UUID sessionId, UUID userId);
+    int endIdleSessions(LocalDateTime idleBefore, int limit); // internal: one chunk of the idle-session reaper
+    List<SessionResponseDTO> activateDueSessions(LocalDateTime dueBy, int limit); // internal: one batch of the scheduled-session activator
 
     //Participant Management
     SessionResponseDTO inviteUser(UUID sessionId, UUID inviteeId, UUID inviterId);
@@ -47,11 +50,17 @@ public interface SessionService {
     SessionResponseDTO skipBreak(UUID sessionId, UUID userId);
     SessionProgressDTO getSessionProgress(UUID sessionId, UUID userId);
     BreakSessionDTO getBreakOptions(UUID sessionId, UUID userId);
+    SessionProgressDTO getSessionProgressSnapshot(UUID sessionId); // internal: no access check, used for push fan-out
 
     //Task Management within Sessions
-    SessionResponseDTO addTaskToSession(UUID sessionId, UUID taskId, UUID userId);
-    SessionResponseDTO removeTaskFromSession(UUID sessionId, UUID taskId, UUID userId);
+    SessionResponseDTO addTaskToSession(UUID sessionId, UUID taskId, UUID userId, boolean includeTasks);
+    SessionResponseDTO removeTaskFromSession(UUID sessionId, UUID taskId, UUID userId, boolean includeTasks);
     SessionResponseDTO markTaskCompleted(UUID sessionId, UUID taskId, UUID userId);
     List<UUID> getSessionTasks(UUID sessionId, UUID userId);
 
+    // Conditional GETs: version lookups with the same access rules as the reads they validate
+    SessionVersionDTO getSessionVersion(UUID sessionId, UUID requesterId);
+    SessionVersionDTO getCurrentActiveSessionVersion(UUID userId);
+    SessionVersionDTO getSessionVersionByInviteCode(String inviteCode);
+
 }
@@ -0,0 +1,298 @@
+package com.pm.sessionservice.Service.Stream;
+
+import com.pm.sessionservice.Config.ProgressStreamProperties;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.DTO.SessionProgressDeltaDTO;
+import com.pm.sessionservice.Exception.SessionNotFoundException;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.SessionStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Push-based replacement for polling GET /progress
+ *
+ * - A subscriber receives one full "snapshot" event, then "delta" events only
+ *   when the phase, participant or task groups change
+ * - One progress computation per session change is fanned out to every subscriber
+ * - Bursts of changes for the same session are coalesced into a single refresh
+ * - Changes committed on other replicas arrive through SessionInvalidationBus
+ * - A new subscriber is registered before its snapshot is computed, under the stream lock, so a
+ *   change committed meanwhile is either in the snapshot or arrives as the next delta
+ * - Access is checked on subscribe; a subscriber admitted as a participant is re-checked against
+ *   every refreshed participant list and its stream is closed once it has left or been removed
+ */
+@Component
+public class SessionProgressBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(SessionProgressBroadcaster.class);
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String DELTA_EVENT = "delta";
+
+    private final SessionService sessionService;
+    private final ProgressStreamProperties properties;
+    private final Map<UUID, SessionStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SessionProgressBroadcaster(SessionService sessionService, ProgressStreamProperties properties) {
+        this.sessionService = sessionService;
+        this.properties = properties;
+    }
+
+    /**
+     * Opens a stream for the user. Access is checked by getSessionProgress, whose
+     * result is sent as the initial snapshot.
+     */
+    public SseEmitter subscribe(UUID sessionId, UUID userId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        // Registered first (so changes from now on trigger refreshes) but left out of broadcasts until its snapshot is sent
+        SessionStream stream = streams.compute(sessionId, (id, existing) -> {
+            SessionStream target = existing != null ? existing : new SessionStream(id);
+            target.awaitingSnapshot.add(emitter);
+            target.emitters.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(stream, emitter));
+        emitter.onTimeout(() -> unsubscribe(stream, emitter));
+        emitter.onError(error -> unsubscribe(stream, emitter));
+
+        stream.lock.lock();
+        try {
+            SessionProgressDTO snapshot;
+            try {
+                snapshot = sessionService.getSessionProgress(sessionId, userId);
+            } catch (RuntimeException e) {
+                unsubscribe(stream, emitter);
+                throw e;
+            }
+            if (snapshot.getActiveParticipants() != null && snapshot.getActiveParticipants().contains(userId)) {
+                // Admitted as a participant rather than the owner: only authorised while still in the session
+                stream.participantSubscribers.put(emitter, userId);
+            }
+            revokeDeparted(stream, snapshot);
+            // Existing subscribers catch up to the same state, so every refresh from here diffs against what all of them have
+            SessionProgressDeltaDTO catchUp = stream.lastSnapshot != null ? diff(stream.lastSnapshot, snapshot) : null;
+            if (catchUp != null) {
+                broadcast(stream, catchUp);
+            }
+            stream.lastSnapshot = snapshot;
+            try {
+                emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot));
+                stream.awaitingSnapshot.remove(emitter);
+                if (isFinished(snapshot)) {
+                    // Already over: nothing will ever follow the snapshot
+                    unsubscribe(stream, emitter);
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // IllegalStateException: the emitter was already completed (client gone, or server shutting down)
+                unsubscribe(stream, emitter);
+                emitter.completeWithError(e);
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+        log.info("User {} subscribed to progress stream of session {} ({} subscribers)",
+                userId, sessionId, stream.emitters.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        requestRefresh(event.getSessionId());
+    }
+
+    // Another replica changed these sessions; its SessionChangedEvent never reaches this node
+    public void sessionsChanged(Collection<UUID> sessionIds) {
+        sessionIds.forEach(this::requestRefresh);
+    }
+
+    // Changes may have been missed entirely (invalidation listener reconnected): re-diff every open stream
+    public void refreshAll() {
+        streams.keySet().forEach(this::requestRefresh);
+    }
+
+    // Number of open progress streams across all sessions
+    public int subscriberCount() {
+        return streams.values().stream().mapToInt(stream -> stream.emitters.size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(stream -> stream.emitters.forEach(SseEmitter::complete));
+        fanOutExecutor.shutdownNow();
+    }
+
+    private void requestRefresh(UUID sessionId) {
+        SessionStream stream = streams.get(sessionId);
+        if (stream == null) {
+            return;
+        }
+        // Coalesce: one pending refresh per session covers every change that arrives before it runs
+        if (stream.refreshPending.compareAndSet(false, true)) {
+            fanOutExecutor.execute(() -> refresh(stream));
+        }
+    }
+
+    private void refresh(SessionStream stream) {
+        stream.refreshPending.set(false);
+        // A lock rather than synchronized: the refresh blocks on JDBC and runs on a virtual thread,
+        // which must not pin its carrier while it waits
+        stream.lock.lock();
+        try {
+            if (stream.emitters.isEmpty()) {
+                return;
+            }
+
+            SessionProgressDTO current;
+            try {
+                current = sessionService.getSessionProgressSnapshot(stream.sessionId);
+            } catch (SessionNotFoundException e) {
+                completeSubscribed(stream);
+                streams.remove(stream.sessionId, stream);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to compute progress for session {}: {}", stream.sessionId, e.getMessage());
+                return;
+            }
+
+            revokeDeparted(stream, current);
+            SessionProgressDeltaDTO delta = diff(stream.lastSnapshot, current);
+            stream.lastSnapshot = current;
+            if (delta != null) {
+                broadcast(stream, delta);
+            }
+
+            if (isFinished(current)) {
+                completeSubscribed(stream);
+                // No more deltas will come; drop the stream now rather than waiting for every completion callback
+                streams.remove(stream.sessionId, stream);
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    private void broadcast(SessionStream stream, SessionProgressDeltaDTO delta) {
+        for (SseEmitter emitter : stream.emitters) {
+            if (stream.awaitingSnapshot.contains(emitter)) {
+                continue;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(DELTA_EVENT).data(delta));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping progress subscriber of session {}: {}", stream.sessionId, e.getMessage());
+                unsubscribe(stream, emitter);
+            }
+        }
+    }
+
+    // Closes the streams of participants who are no longer in the session
+    private void revokeDeparted(SessionStream stream, SessionProgressDTO current) {
+        List<UUID> participants = current.getActiveParticipants() != null ? current.getActiveParticipants() : List.of();
+        stream.participantSubscribers.forEach((emitter, userId) -> {
+            if (!participants.contains(userId)) {
+                log.info("User {} is no longer in session {}; closing their progress stream", userId, stream.sessionId);
+                unsubscribe(stream, emitter);
+                emitter.complete();
+            }
+        });
+    }
+
+    // Subscribers still waiting for their snapshot are left to subscribe(), which sees the same end state itself
+    private void completeSubscribed(SessionStream stream) {
+        stream.emitters.stream()
+                .filter(emitter -> !stream.awaitingSnapshot.contains(emitter))
+                .forEach(SseEmitter::complete);
+    }
+
+    private void unsubscribe(SessionStream stream, SseEmitter emitter) {
+        stream.participantSubscribers.remove(emitter);
+        streams.computeIfPresent(stream.sessionId, (id, existing) -> {
+            existing.emitters.remove(emitter);
+            existing.awaitingSnapshot.remove(emitter);
+            return existing.emitters.isEmpty() ? null : existing;
+        });
+    }
+
+    // Returns null when none of the pushed groups changed
+    private SessionProgressDeltaDTO diff(SessionProgressDTO previous, SessionProgressDTO current) {
+        SessionProgressDeltaDTO delta = new SessionProgressDeltaDTO();
+        delta.setSessionId(current.getSessionId());
+        boolean changed = false;
+
+        if (previous == null || phaseChanged(previous, current)) {
+            delta.setStatus(current.getStatus());
+            delta.setCurrentType(current.getCurrentType());
+            delta.setCurrentPhaseStartTime(current.getCurrentPhaseStartTime());
+            delta.setCurrentDurationMinutes(current.getCurrentDurationMinutes());
+            delta.setTotalWorkSessionsCompleted(current.getTotalWorkSessionsCompleted());
+            delta.setIsWaitingForBreakSelection(current.getIsWaitingForBreakSelection());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getActiveParticipants(), current.getActiveParticipants())) {
+            delta.setActiveParticipants(current.getActiveParticipants());
+            changed = true;
+        }
+        if (previous == null || tasksChanged(previous, current)) {
+            delta.setTotalTasks(current.getTotalTasks());
+            delta.setTasksCompleted(current.getTasksCompleted());
+            delta.setCompletedTaskIds(current.getCompletedTaskIds());
+            changed = true;
+        }
+        return changed ? delta : null;
+    }
+
+    private boolean isFinished(SessionProgressDTO progress) {
+        return progress.getStatus() == SessionStatus.COMPLETED || progress.getStatus() == SessionStatus.CANCELLED;
+    }
+
+    private boolean phaseChanged(SessionProgressDTO previous, SessionProgressDTO current) {
+        return previous.getStatus() != current.getStatus()
+                || previous.getCurrentType() != current.getCurrentType()
+                || !Objects.equals(previous.getCurrentPhaseStartTime(), current.getCurrentPhaseStartTime())
+                || !Objects.equals(previous.getCurrentDurationMinutes(), current.getCurrentDurationMinutes())
+                || !Objects.equals(previous.getTotalWorkSessionsCompleted(), current.getTotalWorkSessionsCompleted())
+                || !Objects.equals(previous.getIsWaitingForBreakSelection(), current.getIsWaitingForBreakSelection());
+    }
+
+    private boolean tasksChanged(SessionProgressDTO previous, SessionProgressDTO current) {
+        return !Objects.equals(previous.getTotalTasks(), current.getTotalTasks())
+                || !Objects.equals(previous.getTasksCompleted(), current.getTasksCompleted())
+                || !Objects.equals(previous.getCompletedTaskIds(), current.getCompletedTaskIds());
+    }
+
+    private static final class SessionStream {
+        private final UUID sessionId;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final Set<SseEmitter> awaitingSnapshot = ConcurrentHashMap.newKeySet();
+        // Emitters of users admitted as participants -> their user id, for revocation
+        private final Map<SseEmitter, UUID> participantSubscribers = new ConcurrentHashMap<>();
+        private final AtomicBoolean refreshPending = new AtomicBoolean();
+        private final ReentrantLock lock = new ReentrantLock();
+        private SessionProgressDTO lastSnapshot;
+
+        private SessionStream(UUID sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.pm.sessionservice.Service.Task;
+
+import com.pm.sessionservice.Config.TaskDirectoryProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for task-service until the gRPC contract exists
+ *
+ * - Reports no completed tasks, which is what progress showed before the integration
+ * - Optional per-call latency (session.task-directory.stub-latency) to load-test the fan-out offline
+ */
+@Component
+public class StubTaskDirectoryBackend implements TaskDirectoryBackend {
+
+    private final Duration latency;
+    private final AtomicLong calls = new AtomicLong();
+
+    public StubTaskDirectoryBackend(TaskDirectoryProperties properties) {
+        this.latency = properties.getStubLatency();
+    }
+
+    @Override
+    public Set<UUID> getCompletedTaskIds(UUID sessionId) {
+        calls.incrementAndGet();
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return Set.of();
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+}
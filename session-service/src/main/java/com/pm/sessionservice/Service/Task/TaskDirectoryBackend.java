@@ -0,0 +1,12 @@
+package com.pm.sessionservice.Service.Task;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Transport to task-service. task-service knows which session each task belongs to,
+ * so one call answers for the whole session.
+ */
+public interface TaskDirectoryBackend {
+    Set<UUID> getCompletedTaskIds(UUID sessionId);
+}
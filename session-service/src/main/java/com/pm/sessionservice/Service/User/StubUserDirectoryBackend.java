@@ -0,0 +1,58 @@
+package com.pm.sessionservice.Service.User;
+
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import com.pm.sessionservice.DTO.UserSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for user-service until the gRPC contract exists
+ *
+ * - Resolves every ID to the placeholder username previously hard-coded in SessionServiceImpl
+ * - Optional per-call latency (session.user-directory.stub-latency) to load-test the client offline
+ * - Counts calls and looked-up IDs so batching and coalescing can be observed
+ */
+@Component
+public class StubUserDirectoryBackend implements UserDirectoryBackend {
+
+    private final Duration latency;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong lookedUpIds = new AtomicLong();
+
+    public StubUserDirectoryBackend(UserDirectoryProperties properties) {
+        this.latency = properties.getStubLatency();
+    }
+
+    @Override
+    public Map<UUID, UserSummaryDTO> getUsersByIds(Collection<UUID> userIds) {
+        calls.incrementAndGet();
+        lookedUpIds.addAndGet(userIds.size());
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Map<UUID, UserSummaryDTO> users = new HashMap<>();
+        for (UUID userId : userIds) {
+            users.put(userId, new UserSummaryDTO(userId, "user_" + userId.toString().substring(0, 8)));
+        }
+        return users;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getLookedUpIds() {
+        return lookedUpIds.get();
+    }
+}
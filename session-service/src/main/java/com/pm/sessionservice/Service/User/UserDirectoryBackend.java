@@ -0,0 +1,15 @@
+package com.pm.sessionservice.Service.User;
+
+import com.pm.sessionservice.DTO.UserSummaryDTO;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transport to user-service. One call resolves a whole batch (GetUsersByIds);
+ * unknown IDs are simply absent from the result.
+ */
+public interface UserDirectoryBackend {
+    Map<UUID, UserSummaryDTO> getUsersByIds(Collection<UUID> userIds);
+}
@@ -0,0 +1,215 @@
+package com.pm.sessionservice.Service.User;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import com.pm.sessionservice.DTO.UserSummaryDTO;
+import com.pm.sessionservice.Exception.UserDirectoryUnavailableException;
+import com.pm.sessionservice.Exception.UserNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves user IDs to usernames through user-service
+ *
+ * - Near cache: repeated lookups within a request (ownership checks, leave, create) stay local
+ * - Coalescing: concurrent lookups of the same ID share one in-flight future
+ * - Micro-batching: misses are collected for up to maxBatchDelay (or maxBatchSize IDs)
+ *   and resolved with a single GetUsersByIds call
+ */
+@Component
+public class UserDirectoryClient {
+    private static final Logger log = LoggerFactory.getLogger(UserDirectoryClient.class);
+
+    public static final String CACHE_NAME = "user-directory";
+
+    private final UserDirectoryBackend backend;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration requestTimeout;
+    private final Cache<UUID, String> usernames;
+    private final Map<UUID, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<UUID> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizes;
+
+    public UserDirectoryClient(UserDirectoryBackend backend, UserDirectoryProperties properties, MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.maxBatchDelay = properties.getMaxBatchDelay();
+        this.requestTimeout = properties.getRequestTimeout();
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTimeToLive())
+                .recordStats()
+                .build();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-directory-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("user.directory.batch.size")
+                .description("User IDs resolved per GetUsersByIds call")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, usernames, CACHE_NAME);
+    }
+
+    public String getUsername(UUID userId) {
+        String cached = usernames.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return await(lookup(userId), userId);
+    }
+
+    // Resolves several IDs with at most one wait; misses across all callers share batches
+    public Map<UUID, String> getUsernames(Collection<UUID> userIds) {
+        Map<UUID, String> resolved = new LinkedHashMap<>();
+        Map<UUID, CompletableFuture<String>> waiting = new LinkedHashMap<>();
+        for (UUID userId : userIds) {
+            String cached = usernames.getIfPresent(userId);
+            if (cached != null) {
+                resolved.put(userId, cached);
+            } else {
+                waiting.putIfAbsent(userId, lookup(userId));
+            }
+        }
+        waiting.forEach((userId, future) -> resolved.put(userId, await(future, userId)));
+        return resolved;
+    }
+
+    public void evict(UUID userId) {
+        usernames.invalidate(userId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<String> lookup(UUID userId) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(userId, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        // A batch may have completed between the cache miss and registering this future
+        String cached = usernames.getIfPresent(userId);
+        if (cached != null) {
+            inFlight.remove(userId, created);
+            created.complete(cached);
+            return created;
+        }
+        enqueue(userId);
+        return created;
+    }
+
+    private void enqueue(UUID userId) {
+        pending.add(userId);
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            batchExecutor.execute(this::drain);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.schedule(() -> {
+                flushScheduled.set(false);
+                drain();
+            }, maxBatchDelay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<UUID> batch = new ArrayList<>(maxBatchSize);
+            UUID userId;
+            while (batch.size() < maxBatchSize && (userId = pending.poll()) != null) {
+                batch.add(userId);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+            batchExecutor.execute(() -> fetch(batch));
+        }
+    }
+
+    private void fetch(List<UUID> batch) {
+        batchSizes.record(batch.size());
+        Map<UUID, UserSummaryDTO> users;
+        try {
+            users = backend.getUsersByIds(batch);
+        } catch (RuntimeException e) {
+            log.warn("GetUsersByIds failed for {} users: {}", batch.size(), e.getMessage());
+            UserDirectoryUnavailableException failure =
+                    new UserDirectoryUnavailableException("User directory is unavailable", e);
+            batch.forEach(userId -> complete(userId, null, failure));
+            return;
+        }
+
+        for (UUID userId : batch) {
+            UserSummaryDTO user = users.get(userId);
+            if (user != null && user.getUsername() != null) {
+                // Cache before releasing the in-flight entry so later callers never miss both
+                usernames.put(userId, user.getUsername());
+                complete(userId, user.getUsername(), null);
+            } else {
+                complete(userId, null, new UserNotFoundException("User not found: " + userId));
+            }
+        }
+    }
+
+    private void complete(UUID userId, String username, RuntimeException failure) {
+        CompletableFuture<String> future = inFlight.remove(userId);
+        if (future == null) {
+            return;
+        }
+        if (failure == null) {
+            future.complete(username);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    private String await(CompletableFuture<String> future, UUID userId) {
+        try {
+            return future.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new UserDirectoryUnavailableException("User lookup failed for " + userId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new UserDirectoryUnavailableException("User lookup timed out for " + userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserDirectoryUnavailableException("Interrupted while looking up user " + userId, e);
+        }
+    }
+}
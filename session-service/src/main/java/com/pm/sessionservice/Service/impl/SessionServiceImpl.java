@@ -5,21 +5,44 @@ import com.pm.sessionservice.Config.SessionProperties;
 import com.pm.sessionservice.DTO.*;
 import com.pm.sessionservice.Exception.InvalidSessionDataException;
 import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Exception.SessionConflictException;
 import com.pm.sessionservice.Exception.SessionException;
 import com.pm.sessionservice.Exception.SessionNotFoundException;
 import com.pm.sessionservice.Mapper.SessionMapper;
 import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionProgressView;
 import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionTaskRepository;
+import com.pm.sessionservice.Repository.SessionVersionView;
+import com.pm.sessionservice.Service.Accounting.FocusTimeAccumulator;
+import com.pm.sessionservice.Service.Cache.ActiveSessionRegistry;
+import com.pm.sessionservice.Service.Cache.SessionCache;
+import com.pm.sessionservice.Service.Cache.SessionWindowIndex;
+import com.pm.sessionservice.Service.Enrichment.SessionProgressEnricher;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.Service.Event.SessionCreatedEvent;
+import com.pm.sessionservice.Service.Event.SessionEventType;
+import com.pm.sessionservice.Service.Event.SessionStartedEvent;
+import com.pm.sessionservice.Service.Event.SessionUpdatedEvent;
+import com.pm.sessionservice.Service.Outbox.SessionOutbox;
+import com.pm.sessionservice.Service.Scheduler.PhaseScheduler;
 import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.Service.User.UserDirectoryClient;
 import com.pm.sessionservice.model.*;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 
@@ -27,10 +50,26 @@ import java.util.*;
 @Service
 public class SessionServiceImpl implements SessionService {
     private static final Logger log = LoggerFactory.getLogger(SessionServiceImpl.class);
+    // First history page: later than any real start time; the id only breaks ties, so any value works
+    private static final HistoryCursor FIRST_HISTORY_PAGE =
+            new HistoryCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(0L, 0L));
+    // Exclusion constraint on the owner's SCHEDULED windows (V14)
+    private static final String SCHEDULED_OVERLAP_CONSTRAINT = "sessions_scheduled_no_overlap";
     private final SessionRepository sessionRepository;
     private final SessionParticipantRepository sessionParticipantRepository;
+    private final SessionTaskRepository sessionTaskRepository;
     private final SessionProperties sessionProperties;
     private final SessionMapper sessionMapper;
+    private final SessionCache sessionCache;
+    private final ActiveSessionRegistry activeSessionRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final PhaseScheduler phaseScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDirectoryClient userDirectoryClient;
+    private final SessionOutbox sessionOutbox;
+    private final FocusTimeAccumulator focusTimeAccumulator;
+    private final SessionProgressEnricher progressEnricher;
+    private final SessionWindowIndex sessionWindowIndex;
 
     //CRUD operations
     @Transactional
@@ -40,7 +79,10 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Invalid session data");
         }
 
-        if(hasActiveSession(ownerId)){
+        // A session scheduled for later does not conflict with the one running now
+        boolean scheduled = sessionRequestDTO.getScheduledTime() != null
+                && sessionRequestDTO.getScheduledTime().isAfter(LocalDateTime.now());
+        if(!scheduled && hasActiveSession(ownerId)){
             throw new SessionAccessDeniedException("Cannot start a new session with a active session ");
         }
 
@@ -56,25 +98,52 @@ public class SessionServiceImpl implements SessionService {
         log.info("Creating new session {}"+" for user {}", newSession, ownerId);
 
         //Assigns creator user as the owner
+        newSession.setOwnerId(ownerId);
         newSession.setOwnerUsername(getUsernameFromUserId(ownerId));
 
         //Declares when session was created
         newSession.setCreatedAt(LocalDateTime.now());
-        newSession.setStartTime(LocalDateTime.now());
-
-        //Pomodoro initialization
-        newSession.setCurrentType(SessionType.WORK);
-        newSession.setCurrentPhaseStartTime(LocalDateTime.now());
-        newSession.setCurrentDurationMinutes(newSession.getWorkDurationMinutes());
 
         //Creating unique invite code for session
         newSession.setInviteCode(generateInviteCode());
 
-
+        //Planned window must not overlap the owner's other live or scheduled sessions
+        LocalDateTime windowStart = scheduled ? sessionRequestDTO.getScheduledTime() : LocalDateTime.now();
+        LocalDateTime windowEnd = sessionWindowIndex.plannedEnd(windowStart, sessionRequestDTO.getPlannedDurationMinutes());
+        List<UUID> conflicts = sessionWindowIndex.findConflicts(ownerId, windowStart, windowEnd);
+        if(!conflicts.isEmpty()){
+            throw new SessionConflictException("Session from " + windowStart + " to " + windowEnd
+                    + " overlaps session " + conflicts.get(0));
+        }
+        newSession.setPlannedEndTime(windowEnd);
+
+        //Scheduled sessions wait in the due queue; the activator starts them at scheduledTime
+        if(scheduled){
+            newSession.setStatus(SessionStatus.SCHEDULED);
+            Session savedSession;
+            try {
+                savedSession = saveSession(newSession);
+            } catch (DataIntegrityViolationException e) {
+                // The index check above raced with another replica scheduling for this owner; the constraint caught it
+                if (!violates(e, SCHEDULED_OVERLAP_CONSTRAINT)) {
+                    throw e;
+                }
+                throw new SessionConflictException("Session from " + windowStart + " to " + windowEnd
+                        + " overlaps another scheduled session");
+            }
+            appendSessionCreated(savedSession, ownerId, savedSession.getScheduledTime());
+            log.info("Scheduled session {} for {} with invite code {}",
+                    savedSession.getSessionId(), savedSession.getScheduledTime(), savedSession.getInviteCode());
+            return sessionMapper.toResponseDTO(savedSession);
+        }
+        newSession.setScheduledTime(null);
 
         //Saves changes and changes session status to ACTIVE
-        newSession.setStatus(SessionStatus.ACTIVE);
-        Session savedSession = sessionRepository.save(newSession);
+        Session savedSession = startSession(newSession);
+
+        // Downstream feed (chat, notification, analytics), committed with the session row
+        appendSessionCreated(savedSession, ownerId, savedSession.getStartTime());
+        appendSessionStarted(savedSession);
         log.info("Created session {}"+" with invite code {}", savedSession.getSessionId(), savedSession.getInviteCode());
 
         return sessionMapper.toResponseDTO(savedSession);
@@ -85,7 +154,7 @@ public class SessionServiceImpl implements SessionService {
         log.info("Updating session {} by owner {}", sessionId, ownerId);
 
         // Find session and validate ownership
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         
         validateOwnership(session, ownerId);
         validateUpdateRequest(request);
@@ -93,7 +162,12 @@ public class SessionServiceImpl implements SessionService {
         // Update session fields
         updateSessionFields(session, request);
 
-        Session updatedSession = sessionRepository.save(session);
+        Session updatedSession = saveSession(session);
+        sessionOutbox.append(SessionEventType.SESSION_UPDATED, sessionId, SessionUpdatedEvent.builder()
+                .sessionId(sessionId)
+                .updatedBy(ownerId.toString())
+                .title(updatedSession.getSessionName())
+                .build());
         log.info("Successfully updated session {}", sessionId);
         
         return sessionMapper.toResponseDTO(updatedSession);
@@ -105,7 +179,7 @@ public class SessionServiceImpl implements SessionService {
         log.info("Deleting session {} by owner {}", sessionId, ownerId);
         
         // Find session and validate ownership
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         
         validateOwnership(session, ownerId);
         
@@ -116,27 +190,20 @@ public class SessionServiceImpl implements SessionService {
         session.setIsDeleted(true);
         session.setUpdatedAt(LocalDateTime.now());
         
-        sessionRepository.save(session);
+        saveSession(session);
         log.info("Successfully deleted session {}", sessionId);
     }
     
 
-    public SessionResponseDTO getCurrentActiveSession(UUID userId){
-        String username = getUsernameFromUserId(userId);
-        Optional<Session> activeSession = sessionRepository.findCurrentActiveSessionByUser(username, userId);
-
-        return activeSession
-                .map(sessionMapper :: toResponseDTO)
-                .orElseThrow(()-> new SessionException("No active session found for user: " + username));
+    public SessionResponseDTO getCurrentActiveSession(UUID userId, boolean includeTasks){
+        return activeSessionRegistry.findActiveSessionId(userId)
+                .map(this::findSessionOrThrow)
+                .map(session -> toResponseDTO(session, includeTasks))
+                .orElseThrow(()-> new SessionException("No active session found for user: " + userId));
     }
+    // Conflict check: answered from the active-session registry, no DTO or exception involved
     public boolean hasActiveSession(UUID userId){
-        try{
-            getCurrentActiveSession(userId);
-            return true;
-        }
-        catch(SessionException e){
-            return false;
-        }
+        return activeSessionRegistry.hasActiveSession(userId);
     }
 
     public SessionResponseDTO getSessionByInviteCode(String inviteCode){
@@ -153,6 +220,29 @@ public class SessionServiceImpl implements SessionService {
         return sessionMapper.toResponseDTO(session);
     }
 
+    // Keyset pagination on (start_time, session_id): every page is one index seek, however deep the user pages
+    @Transactional(readOnly = true)
+    public SessionHistoryPageDTO getSessionHistory(UUID userId, String cursor, Integer limit){
+        if(userId == null){
+            throw new InvalidSessionDataException("User ID cannot be null");
+        }
+        int pageSize = resolveHistoryPageSize(limit);
+        HistoryCursor position = cursor == null || cursor.isBlank() ? FIRST_HISTORY_PAGE : decodeHistoryCursor(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<Session> rows = sessionRepository.findHistoryPage(userId, position.startTime(), position.sessionId(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<Session> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<SessionSummaryDTO> sessions = page.stream().map(sessionMapper::toHistorySummaryDTO).toList();
+        String nextCursor = null;
+        if(hasMore){
+            Session last = page.get(page.size() - 1);
+            nextCursor = encodeHistoryCursor(last.getStartTime(), last.getSessionId());
+        }
+        return new SessionHistoryPageDTO(sessions, nextCursor);
+    }
+
 
     //Session Lifecycle Management
     @Transactional
@@ -160,7 +250,7 @@ public class SessionServiceImpl implements SessionService {
         log.info("Ending session {} by user {}", sessionId, userId);
         
         // Find session and validate ownership
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         
         validateOwnership(session, userId);
         
@@ -169,24 +259,51 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session is already completed or cancelled");
         }
 
-        // Set final session state
-        session.setStatus(SessionStatus.COMPLETED);
-        session.setEndTime(LocalDateTime.now());
-
-        // Calculate total session duration in minutes
-        Duration sessionDuration = durationTime(session.getStartTime(), session.getEndTime());
-        session.setTotalSessionDurationMinutes(sessionDuration.toMinutes());
+        // Never started: drop it from the due queue instead of recording a duration
+        if (session.getStatus() == SessionStatus.SCHEDULED) {
+            session.setStatus(SessionStatus.CANCELLED);
+            session.setEndTime(LocalDateTime.now());
+            log.info("Cancelled scheduled session {}", sessionId);
+            return sessionMapper.toResponseDTO(saveSession(session));
+        }
 
-        Session completedSession = sessionRepository.save(session);
-        log.info("Successfully ended session {} with duration {} minutes", sessionId, sessionDuration.toMinutes());
+        Session completedSession = completeSession(session);
+        log.info("Successfully ended session {} with duration {} minutes", sessionId, completedSession.getTotalSessionDurationMinutes());
         
         return sessionMapper.toResponseDTO(completedSession);
     }
+
+    // Idle-session reaper: ends one locked chunk exactly like endSession; other replicas skip these rows
+    @Transactional
+    public int endIdleSessions(LocalDateTime idleBefore, int limit){
+        List<Session> idleSessions = sessionRepository.lockIdleSessions(idleBefore, Limit.of(limit));
+        for(Session session : idleSessions){
+            LocalDateTime lastActivity = session.getUpdatedAt();
+            Session completedSession = completeSession(session);
+            log.info("Ended idle session {} (last activity {}) with duration {} minutes",
+                    completedSession.getSessionId(), lastActivity, completedSession.getTotalSessionDurationMinutes());
+        }
+        return idleSessions.size();
+    }
+
+    // Scheduled-session activator: starts one locked batch of due sessions; other replicas skip these rows
+    @Transactional
+    public List<SessionResponseDTO> activateDueSessions(LocalDateTime dueBy, int limit){
+        List<Session> dueSessions = sessionRepository.lockDueScheduledSessions(dueBy, Limit.of(limit));
+        List<SessionResponseDTO> activated = new ArrayList<>(dueSessions.size());
+        for(Session session : dueSessions){
+            Session startedSession = startSession(session);
+            appendSessionStarted(startedSession);
+            log.info("Started scheduled session {} (scheduled for {})", startedSession.getSessionId(), startedSession.getScheduledTime());
+            activated.add(sessionMapper.toResponseDTO(startedSession));
+        }
+        return activated;
+    }
     @Transactional
     public SessionResponseDTO resumeSession(UUID sessionId, UUID userId){
         //Checks if session exists and if they are the owner
         log.info("Resuming session {} by user {}", sessionId, userId);
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId);
 
         //Validate if session can be resumed
@@ -199,13 +316,15 @@ public class SessionServiceImpl implements SessionService {
         session.setCurrentPhaseStartTime(LocalDateTime.now());
 
 
-        Session resumedSession = sessionRepository.save(session);
+        Session resumedSession = saveSession(session);
+        activeSessionRegistry.sessionReactivated();
+        activeSessionRegistry.register(userId, sessionId);
         return sessionMapper.toResponseDTO(resumedSession);
     }
     @Transactional
     public SessionResponseDTO pauseSession(UUID sessionId, UUID userId){
         log.info("Paused session {} by user {}", sessionId, userId);
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId);
 
         //Validate
@@ -217,7 +336,7 @@ public class SessionServiceImpl implements SessionService {
         session.setStatus(SessionStatus.PAUSED);
         session.setCurrentPhaseStartTime(LocalDateTime.now());
 
-        Session pausedSession = sessionRepository.save(session);
+        Session pausedSession = saveSession(session);
         return sessionMapper.toResponseDTO(pausedSession);
 
     }
@@ -265,14 +384,18 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("User to remove is empty");
         }
 
-        if(!sessionParticipantRepository.isUserActiveParticipant(sessionId, userToRemove)){
+        LocalDateTime now = LocalDateTime.now();
+        if(sessionParticipantRepository.removeParticipantFromSession(sessionId, userToRemove, now) == 0){
             throw new InvalidSessionDataException("User is not a participant in session");
         }
 
-        sessionParticipantRepository.removeParticipantFromSession(sessionId, userToRemove, LocalDateTime.now());
-        session.setCurrentParticipantCount(session.getCurrentParticipantCount()-1);
+        // The owner always holds one slot
+        if(sessionRepository.releaseParticipantSlot(sessionId, 1, now) == 0){
+            throw new InvalidSessionDataException("Session is no longer active");
+        }
 
-        Session removedUserSession = sessionRepository.save(session);
+        Session removedUserSession = reloadAfterSlotUpdate(sessionId);
+        activeSessionRegistry.unregister(userToRemove);
 
         return sessionMapper.toResponseDTO(removedUserSession);
 
@@ -286,6 +409,7 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("One or more required fields are empty");
         }
         String trimmedInviteCode = inviteCode.trim();
+        // Validation runs against the cached snapshot, nothing is locked yet
         Session session = findSessionOrThrow(sessionId);
 
         //Validating invite codes match
@@ -297,22 +421,18 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session is not active");
         }
 
-        if(sessionParticipantRepository.isUserActiveParticipant(sessionId, userId)){
-            throw new InvalidSessionDataException("User is already a participant in session");
-        }
+        //TODO: Ensure user exists via gRPC call to user service
 
-        if(sessionParticipantRepository.countActiveParticipantsBySessionId(sessionId) > sessionProperties.getMaxAllowedParticipants()){
+        // Admission is a single conditional UPDATE: it only matches while the session is ACTIVE and
+        // below capacity, and the row lock it takes serializes the participant write that follows
+        LocalDateTime now = LocalDateTime.now();
+        if(sessionRepository.claimParticipantSlot(sessionId, sessionProperties.getMaxAllowedParticipants(), now) == 0){
             throw new SessionAccessDeniedException("Max allowed participants exceeded");
         }
-        //TODO: Ensure user exists via gRPC call to user service
+        admitParticipant(session, userId, now);
 
-        // Create and save participant
-        SessionParticipant participant = createParticipant(sessionId, userId);
-        sessionParticipantRepository.save(participant);
-        
-        // Update session participant count
-        session.setCurrentParticipantCount(session.getCurrentParticipantCount() + 1);
-        Session updatedSession = sessionRepository.save(session);
+        Session updatedSession = reloadAfterSlotUpdate(sessionId);
+        activeSessionRegistry.register(userId, sessionId);
         
         log.info("User {} successfully joined session {}", userId, sessionId);
         return sessionMapper.toResponseDTO(updatedSession);
@@ -332,22 +452,21 @@ public class SessionServiceImpl implements SessionService {
         }
 
         // Prevent owner from leaving (they should delete session instead)
-        if(getUsernameFromUserId(userId).equals(session.getOwnerUsername())){
+        if(isOwner(session.getOwnerId(), session.getOwnerUsername(), userId)){
             throw new SessionAccessDeniedException("Session owner cannot leave - delete session instead");
         }
 
-        if(!sessionParticipantRepository.isUserActiveParticipant(sessionId, userId)){
+        LocalDateTime now = LocalDateTime.now();
+        if(sessionParticipantRepository.removeParticipantFromSession(sessionId, userId, now) == 0){
             throw new InvalidSessionDataException("User is not a participant in session");
         }
-        
-        // Check if leaving would go below minimum participants
-        if(sessionParticipantRepository.countActiveParticipantsBySessionId(sessionId) <= sessionProperties.getMinAllowedParticipants()){
+
+        // The owner holds a slot but no participant row, so the floor sits one above the minimum
+        if(sessionRepository.releaseParticipantSlot(sessionId, sessionProperties.getMinAllowedParticipants() + 1, now) == 0){
             throw new SessionAccessDeniedException("Cannot leave session - would go below minimum required participants");
         }
-
-        sessionParticipantRepository.removeParticipantFromSession(sessionId, userId, LocalDateTime.now());
-        session.setCurrentParticipantCount(session.getCurrentParticipantCount() - 1);
-        sessionRepository.save(session);
+        reloadAfterSlotUpdate(sessionId);
+        activeSessionRegistry.unregister(userId);
         
         log.info("User {} successfully left session {}", userId, sessionId);
     }
@@ -359,10 +478,9 @@ public class SessionServiceImpl implements SessionService {
         }
         
         Session session = findSessionOrThrow(sessionId);
-        String requesterUsername = getUsernameFromUserId(requesterId);
         
         // Check if requester is either session owner OR active participant
-        boolean isOwner = session.getOwnerUsername().equals(requesterUsername);
+        boolean isOwner = isOwner(session.getOwnerId(), session.getOwnerUsername(), requesterId);
         boolean isParticipant = sessionParticipantRepository.isUserActiveParticipant(sessionId, requesterId);
         
         if(!isOwner && !isParticipant){
@@ -385,8 +503,7 @@ public class SessionServiceImpl implements SessionService {
         
         try {
             Session session = findSessionOrThrow(sessionId);
-            String userUsername = getUsernameFromUserId(userId);
-            boolean isOwner = session.getOwnerUsername().equals(userUsername);
+            boolean isOwner = isOwner(session.getOwnerId(), session.getOwnerUsername(), userId);
             
             log.debug("User {} ownership check for session {}: {}", userId, sessionId, isOwner);
             return isOwner;
@@ -443,7 +560,7 @@ public class SessionServiceImpl implements SessionService {
         if(sessionId == null || userId == null){
             throw new InvalidSessionDataException("One or more required fields are empty");
         }
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId);
         if(!session.getStatus().equals(SessionStatus.ACTIVE)){
             throw new InvalidSessionDataException("Session is not active");
@@ -451,7 +568,8 @@ public class SessionServiceImpl implements SessionService {
         session.setCurrentType(SessionType.WORK);
         session.setCurrentPhaseStartTime(LocalDateTime.now());
         session.setCurrentDurationMinutes(session.getWorkDurationMinutes());
-        Session savedSession = sessionRepository.save(session);
+        session.setIsWaitingForBreakSelection(false);
+        Session savedSession = saveSession(session);
         return sessionMapper.toResponseDTO(savedSession);
     }
 
@@ -464,7 +582,7 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("One or more required fields are empty");
         }
         
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId);
         
         if(!session.getStatus().equals(SessionStatus.ACTIVE)){
@@ -484,8 +602,9 @@ public class SessionServiceImpl implements SessionService {
         session.setCurrentType(breakType);
         session.setCurrentPhaseStartTime(LocalDateTime.now());
         session.setCurrentDurationMinutes(breakDuration);
+        session.setIsWaitingForBreakSelection(false);
         
-        Session savedSession = sessionRepository.save(session);
+        Session savedSession = saveSession(session);
         log.info("Successfully started {} for session {} with duration {} minutes", 
                 breakType, sessionId, breakDuration);
         
@@ -498,14 +617,19 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("One or more required fields are empty");
         }
 
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId);
 
-        //Increments total work session completed
-        session.setTotalWorkSessionsCompleted(session.getTotalWorkSessionsCompleted()+1);
-        
-        // Save the completed work session count first
-        sessionRepository.save(session);
+        //Increments total work session completed, unless the phase engine already counted this phase
+        if(!Boolean.TRUE.equals(session.getIsWaitingForBreakSelection())){
+            session.setTotalWorkSessionsCompleted(session.getTotalWorkSessionsCompleted()+1);
+            if(session.getCurrentType() == SessionType.WORK && session.getCurrentPhaseStartTime() != null){
+                focusTimeAccumulator.creditWorkPhase(sessionId, session.getCurrentPhaseStartTime(), LocalDateTime.now());
+            }
+
+            // Save the completed work session count first
+            saveSession(session);
+        }
 
         log.info("Work phase completed, starting new work phase for session {}", sessionId);
         // Start new work phase (this method already saves and returns the DTO)
@@ -528,7 +652,7 @@ public class SessionServiceImpl implements SessionService {
         return startWorkPhase(sessionId, userId);
     }
 
-    @Transactional(readOnly = true)
+    // Not transactional: the read is one readOnly statement and enrichment waits on remote services without a connection
     public SessionProgressDTO getSessionProgress(UUID sessionId, UUID userId){
         log.info("Getting session progress for session {}", sessionId);
         
@@ -537,40 +661,31 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session ID and User ID cannot be null");
         }
         
-        Session session = findSessionOrThrow(sessionId);
+        // Session fields, access rights, participants and task count in a single statement
+        SessionProgressView view = findProgressViewOrThrow(sessionId);
+        List<UUID> activeParticipants = parseParticipantIds(view.getActiveParticipantIds());
 
         // Access control - owner OR participant can view progress
-        boolean isOwner = isUserSessionOwner(sessionId, userId);
-        boolean isUserParticipant = sessionParticipantRepository.isUserActiveParticipant(sessionId, userId);
-
-        if(!isOwner && !isUserParticipant){
-            throw new SessionAccessDeniedException("Access denied: User must be owner or session participant");
-        }
+        validateOwnerOrParticipant(view, activeParticipants, userId);
 
-        // Use MapStruct for basic field mapping, then add calculated fields
-        SessionProgressDTO progress = sessionMapper.toProgressDTO(session);
-        
-        // Add calculated fields that require business logic
-        progress.setElapsedTime(calculateTotalElapsedTime(session));
-        progress.setTimeRemainingInPhase(calculateTimeRemainingInPhase(session));
-        
-        // Task progress using helper methods
-        List<UUID> taskIds = session.getTaskIds();
-        progress.setTotalTasks(taskIds != null ? taskIds.size() : 0);
-        progress.setTasksCompleted(calculateCompletedTasksCount(taskIds));
-        progress.setCompletedTaskIds(new ArrayList<>()); // TODO: Get from task service via gRPC
-        
-        // Participant info using helper methods
-        progress.setActiveParticipants(getActiveParticipantIds(sessionId));
-        
-        // Break selection status using helper methods
-        progress.setIsWaitingForBreakSelection(isWaitingForBreakSelection(session));
+        SessionProgressDTO progress = buildSessionProgress(view, activeParticipants);
+        progressEnricher.enrich(progress);
         
         log.info("Successfully retrieved progress for session {} - {} elapsed, {} remaining in phase", 
                 sessionId, progress.getElapsedTime(), progress.getTimeRemainingInPhase());
         
         return progress;
     }
+    public SessionProgressDTO getSessionProgressSnapshot(UUID sessionId){
+        if (sessionId == null) {
+            throw new InvalidSessionDataException("Session ID cannot be null");
+        }
+        SessionProgressView view = findProgressViewOrThrow(sessionId);
+        SessionProgressDTO progress = buildSessionProgress(view, parseParticipantIds(view.getActiveParticipantIds()));
+        progressEnricher.enrich(progress);
+        return progress;
+    }
+
     @Transactional(readOnly = true)
     public BreakSessionDTO getBreakOptions(UUID sessionId, UUID userId){
         log.info("Getting break options for session {} by user {}", sessionId, userId);
@@ -580,23 +695,18 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session ID and User ID cannot be null");
         }
         
-        Session session = findSessionOrThrow(sessionId);
-        
-        // Access control - owner OR participant can view break options
-        boolean isOwner = isUserSessionOwner(sessionId, userId);
-        boolean isUserParticipant = sessionParticipantRepository.isUserActiveParticipant(sessionId, userId);
+        // Session fields, access rights, participants and task count in a single statement
+        SessionProgressView view = findProgressViewOrThrow(sessionId);
 
-        if(!isOwner && !isUserParticipant){
-            throw new SessionAccessDeniedException("Access denied: User must be owner or session participant");
-        }
+        // Access control - owner OR participant can view break options
+        validateOwnerOrParticipant(view, parseParticipantIds(view.getActiveParticipantIds()), userId);
         
         // Use MapStruct for basic field mapping, then add calculated fields
-        BreakSessionDTO breakOptions = sessionMapper.toBreakSessionDTO(session);
+        BreakSessionDTO breakOptions = sessionMapper.toBreakSessionDTO(view);
         
         // Add calculated fields that require business logic
-        List<UUID> taskIds = session.getTaskIds();
-        breakOptions.setTasks(taskIds != null ? taskIds.size() : 0);
-        breakOptions.setTimeRemaining(calculateTimeRemainingInPhase(session));
+        breakOptions.setTasks(view.getTaskCount().intValue());
+        breakOptions.setTimeRemaining(calculateTimeRemainingInPhase(view.getCurrentPhaseStartTime(), view.getCurrentDurationMinutes()));
         
         log.info("Break options retrieved for session {} - {} work sessions completed", 
                 sessionId, breakOptions.getWorkSessionsCompleted());
@@ -606,7 +716,7 @@ public class SessionServiceImpl implements SessionService {
 
     //Task Management within Sessions
     @Transactional
-    public SessionResponseDTO addTaskToSession(UUID sessionId, UUID taskId, UUID userId){
+    public SessionResponseDTO addTaskToSession(UUID sessionId, UUID taskId, UUID userId, boolean includeTasks){
         log.info("Adding task {} to session {} by user {}", taskId, sessionId, userId);
         
         // Input validation
@@ -614,30 +724,29 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session ID, Task ID, and User ID cannot be null");
         }
         
-        Session session = findSessionOrThrow(sessionId);
+        // Row lock first, so concurrent adds of the same task queue up behind the guarded INSERT
+        Session session = sessionRepository.findByIdForUpdate(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found"));
         validateOwnership(session, userId); // Only owners can manage tasks
         
-        // Check if task is already in session
-        List<UUID> taskIds = session.getTaskIds();
-        if (taskIds.contains(taskId)) {
-            throw new InvalidSessionDataException("Task is already associated with this session");
-        }
-        
         // TODO: Validate task exists via gRPC call to task service
         // Example: taskServiceClient.validateTaskExists(taskId, userId);
         
-        // Add task to session
-        taskIds.add(taskId);
-        session.setTaskIds(taskIds);
+        // One guarded INSERT against the (session_id, task_id) key; 0 rows means it was already there
+        if (sessionTaskRepository.addTask(sessionId, taskId) == 0) {
+            throw new InvalidSessionDataException("Task is already associated with this session");
+        }
         
-        Session updatedSession = sessionRepository.save(session);
+        // The membership row is not part of the entity: touching it makes the save bump the version
+        session.setUpdatedAt(LocalDateTime.now());
+        Session updatedSession = saveSession(session);
         log.info("Successfully added task {} to session {}", taskId, sessionId);
         
-        return sessionMapper.toResponseDTO(updatedSession);
+        return toResponseDTO(updatedSession, includeTasks);
     }
     
     @Transactional
-    public SessionResponseDTO removeTaskFromSession(UUID sessionId, UUID taskId, UUID userId){
+    public SessionResponseDTO removeTaskFromSession(UUID sessionId, UUID taskId, UUID userId, boolean includeTasks){
         log.info("Removing task {} from session {} by user {}", taskId, sessionId, userId);
         
         // Input validation
@@ -645,23 +754,19 @@ public class SessionServiceImpl implements SessionService {
             throw new InvalidSessionDataException("Session ID, Task ID, and User ID cannot be null");
         }
         
-        Session session = findSessionOrThrow(sessionId);
+        Session session = findSessionForUpdate(sessionId);
         validateOwnership(session, userId); // Only owners can manage tasks
         
-        // Check if task is in session
-        List<UUID> taskIds = session.getTaskIds();
-        if (!taskIds.contains(taskId)) {
+        // One DELETE by key; 0 rows means the task was not in the session
+        if (sessionTaskRepository.removeTask(sessionId, taskId) == 0) {
             throw new InvalidSessionDataException("Task is not associated with this session");
         }
         
-        // Remove task from session
-        taskIds.remove(taskId);
-        session.setTaskIds(taskIds);
-        
-        Session updatedSession = sessionRepository.save(session);
+        session.setUpdatedAt(LocalDateTime.now());
+        Session updatedSession = saveSession(session);
         log.info("Successfully removed task {} from session {}", taskId, sessionId);
         
-        return sessionMapper.toResponseDTO(updatedSession);
+        return toResponseDTO(updatedSession, includeTasks);
     }
     
     @Transactional
@@ -684,8 +789,7 @@ public class SessionServiceImpl implements SessionService {
         }
         
         // Check if task is in session
-        List<UUID> taskIds = session.getTaskIds();
-        if (!taskIds.contains(taskId)) {
+        if (!sessionTaskRepository.existsBySessionIdAndTaskId(sessionId, taskId)) {
             throw new InvalidSessionDataException("Task is not associated with this session");
         }
         
@@ -719,26 +823,168 @@ public class SessionServiceImpl implements SessionService {
             throw new SessionAccessDeniedException("Access denied: User must be owner or session participant");
         }
         
-        List<UUID> taskIds = session.getTaskIds();
-        log.info("Retrieved {} tasks for session {}", taskIds != null ? taskIds.size() : 0, sessionId);
+        List<UUID> taskIds = sessionTaskRepository.findTaskIdsBySessionId(sessionId);
+        log.info("Retrieved {} tasks for session {}", taskIds.size(), sessionId);
         
-        return taskIds != null ? new ArrayList<>(taskIds) : new ArrayList<>();
+        return taskIds;
+    }
+
+    //Conditional GET support
+    // One statement answers both the access check and the version; participants and tasks are never loaded
+    public SessionVersionDTO getSessionVersion(UUID sessionId, UUID requesterId){
+        if(sessionId == null || requesterId == null){
+            throw new InvalidSessionDataException("One or more required fields are empty");
+        }
+        SessionVersionView view = sessionRepository.findVersionView(sessionId, requesterId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found"));
+        if(view.getParticipantMatches() == 0 && !isOwner(view.getOwnerId(), view.getOwnerUsername(), requesterId)){
+            throw new SessionAccessDeniedException("Access denied - user must be session owner or participant");
+        }
+        return new SessionVersionDTO(view.getSessionId(), view.getVersion());
+    }
+
+    public SessionVersionDTO getCurrentActiveSessionVersion(UUID userId){
+        return activeSessionRegistry.findActiveSessionId(userId)
+                .flatMap(sessionId -> sessionRepository.findVersionView(sessionId, userId))
+                .map(view -> new SessionVersionDTO(view.getSessionId(), view.getVersion()))
+                .orElseThrow(()-> new SessionException("No active session found for user: " + userId));
+    }
+
+    public SessionVersionDTO getSessionVersionByInviteCode(String inviteCode){
+        if(inviteCode == null || inviteCode.trim().isEmpty()){
+            throw new InvalidSessionDataException("Invite code cannot be null or empty");
+        }
+        return sessionRepository.findVersionViewByInviteCode(inviteCode.trim())
+                .map(view -> new SessionVersionDTO(view.getSessionId(), view.getVersion()))
+                .orElseThrow(() -> new SessionNotFoundException("No active session found with invite code: " + inviteCode));
     }
 
 
     //Helper methods
     
     // Session lookup and validation helpers
+
+    // Read path: served from the session cache, falls back to the database on a miss
     private Session findSessionOrThrow(UUID sessionId){
+        return sessionCache.get(sessionId)
+                .orElseGet(() -> transactionTemplate.execute(status -> {
+                    // Before the read, so a change from another replica evicted meanwhile keeps this row out
+                    long loadStamp = sessionCache.loadStamp();
+                    return sessionCache.populate(findSessionForUpdate(sessionId), loadStamp);
+                }));
+    }
+
+    // Final session state shared by endSession and the idle-session reaper
+    private Session completeSession(Session session){
+        session.setStatus(SessionStatus.COMPLETED);
+        session.setEndTime(LocalDateTime.now());
+
+        // Calculate total session duration in minutes
+        Duration sessionDuration = durationTime(session.getStartTime(), session.getEndTime());
+        session.setTotalSessionDurationMinutes(sessionDuration.toMinutes());
+
+        return saveSession(session);
+    }
+
+    // Write path: always loads the managed entity so changes are tracked by JPA
+    private Session findSessionForUpdate(UUID sessionId){
         return sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException("Session not found"));
     }
+
+    // Immediate creation and scheduled activation start a session the same way: first WORK phase, now
+    private Session startSession(Session session){
+        LocalDateTime now = LocalDateTime.now();
+        session.setStartTime(now);
+
+        //Pomodoro initialization
+        session.setCurrentType(SessionType.WORK);
+        session.setCurrentPhaseStartTime(now);
+        session.setCurrentDurationMinutes(session.getWorkDurationMinutes());
+
+        session.setStatus(SessionStatus.ACTIVE);
+        Session startedSession = saveSession(session);
+        if (startedSession.getOwnerId() != null) {
+            activeSessionRegistry.register(startedSession.getOwnerId(), startedSession.getSessionId());
+        }
+        return startedSession;
+    }
+
+    // Outbox record for a new session; startTime is the scheduled start for sessions that are not started yet
+    private void appendSessionCreated(Session session, UUID ownerId, LocalDateTime startTime){
+        sessionOutbox.append(SessionEventType.SESSION_CREATED, session.getSessionId(), SessionCreatedEvent.builder()
+                .sessionId(session.getSessionId())
+                .creatorUserId(ownerId.toString())
+                .title(session.getSessionName())
+                .startTime(startTime)
+                .build());
+    }
+
+    // Outbox record written when a session enters its first WORK phase
+    private void appendSessionStarted(Session session){
+        sessionOutbox.append(SessionEventType.SESSION_STARTED, session.getSessionId(), SessionStartedEvent.builder()
+                .sessionId(session.getSessionId())
+                .startTime(session.getStartTime())
+                .build());
+    }
+
+    // Task ids are a separate query, so they are only attached when the caller asks for them
+    private SessionResponseDTO toResponseDTO(Session session, boolean includeTasks){
+        SessionResponseDTO response = sessionMapper.toResponseDTO(session);
+        if (includeTasks) {
+            List<UUID> taskIds = sessionTaskRepository.findTaskIdsBySessionId(session.getSessionId());
+            response.setTaskIds(taskIds);
+            response.setUserIds(taskIds); // Legacy alias of taskIds
+        }
+        return response;
+    }
+
+    // Every session write goes through here so the cache, phase deadlines and progress streams stay coherent.
+    // Flushed so the @Version bump is visible to the caller's response and the cached copy.
+    private Session saveSession(Session session){
+        Session savedSession = sessionRepository.saveAndFlush(session);
+        sessionCache.put(savedSession);
+        sessionWindowIndex.update(savedSession);
+        phaseScheduler.schedule(savedSession);
+        if (savedSession.getStatus() != SessionStatus.ACTIVE || Boolean.TRUE.equals(savedSession.getIsDeleted())) {
+            activeSessionRegistry.sessionDeactivated(savedSession.getSessionId());
+        }
+        eventPublisher.publishEvent(SessionChangedEvent.builder().sessionId(savedSession.getSessionId()).build());
+        return savedSession;
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+
+    // Participant slots change through conditional UPDATEs; reload the row (still locked by this transaction) and fan out
+    private Session reloadAfterSlotUpdate(UUID sessionId){
+        Session session = findSessionForUpdate(sessionId);
+        sessionCache.put(session);
+        eventPublisher.publishEvent(SessionChangedEvent.builder().sessionId(sessionId).build());
+        return session;
+    }
     
     private void validateOwnership(Session session, UUID ownerId) {
-        String ownerUsername = getUsernameFromUserId(ownerId);
-        if (!session.getOwnerUsername().equals(ownerUsername)) {
+        if (!isOwner(session.getOwnerId(), session.getOwnerUsername(), ownerId)) {
             throw new SessionAccessDeniedException("Only session owner can update session");
         }
+        if (session.getOwnerId() == null) {
+            // Legacy row matched by username: record the owner id so the next save makes later checks id-only
+            session.setOwnerId(ownerId);
+        }
+    }
+
+    // owner_id decides; only sessions created before it existed fall back to resolving the username
+    private boolean isOwner(UUID sessionOwnerId, String sessionOwnerUsername, UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (sessionOwnerId != null) {
+            return sessionOwnerId.equals(userId);
+        }
+        return sessionOwnerUsername != null && sessionOwnerUsername.equals(getUsernameFromUserId(userId));
     }
     
     private void validateSessionDeletion(Session session) {
@@ -791,13 +1037,9 @@ public class SessionServiceImpl implements SessionService {
     }
     
     // Utility and integration helpers
+    // Near-cached, coalesced and batched; see UserDirectoryClient
     private String getUsernameFromUserId(UUID userId) {
-        // TODO: Replace with actual call to user-service
-        // Example: return userServiceClient.getUserById(userId).getUsername();
-
-        // For now, return a placeholder
-        log.warn("Using placeholder username lookup for userId: {}", userId);
-        return "user_" + userId.toString().substring(0, 8);
+        return userDirectoryClient.getUsername(userId);
     }
     
     private Duration durationTime(LocalDateTime start, LocalDateTime end){
@@ -807,14 +1049,55 @@ public class SessionServiceImpl implements SessionService {
         return Duration.between(start, end);
     }
     
-    private String generateInviteCode(){
+    private int resolveHistoryPageSize(Integer limit){
+        if(limit == null){
+            return sessionProperties.getDefaultHistoryPageSize();
+        }
+        if(limit < 1 || limit > sessionProperties.getMaxHistoryPageSize()){
+            throw new InvalidSessionDataException("Page size must be between 1 and " + sessionProperties.getMaxHistoryPageSize());
+        }
+        return limit;
+    }
+
+    // Opaque to clients: base64url of "startTime|sessionId" of the last row on the page
+    private String encodeHistoryCursor(LocalDateTime startTime, UUID sessionId){
+        String position = startTime + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeHistoryCursor(String cursor){
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if(position.length != 2){
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(position[0]), UUID.fromString(position[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidSessionDataException("Invalid history cursor");
+        }
+    }
+
+    String generateInviteCode(){
         return UUID.randomUUID().toString().substring(0, 8);
     }
     
-    private SessionParticipant createParticipant(UUID sessionId, UUID userId) {
+    // Runs after claimParticipantSlot, so concurrent joins of the same session are serialized here
+    private void admitParticipant(Session session, UUID userId, LocalDateTime joinTime) {
+        UUID sessionId = session.getSessionId();
+        if (sessionParticipantRepository.reactivateParticipant(sessionId, userId, joinTime) > 0) {
+            return;
+        }
+        if (sessionParticipantRepository.isUserActiveParticipant(sessionId, userId)) {
+            throw new InvalidSessionDataException("User is already a participant in session");
+        }
+        sessionParticipantRepository.save(createParticipant(sessionId, userId, session.getStartTime()));
+    }
+
+    private SessionParticipant createParticipant(UUID sessionId, UUID userId, LocalDateTime sessionStartTime) {
         SessionParticipant participant = new SessionParticipant();
         participant.setSessionId(sessionId);
         participant.setUserId(userId);
+        participant.setSessionStartTime(sessionStartTime);
         participant.setJoinedAt(LocalDateTime.now());
         participant.setRole(ParticipantRole.PARTICIPANT);
         participant.setIsActive(true);
@@ -825,19 +1108,15 @@ public class SessionServiceImpl implements SessionService {
         return participant;
     }
 
-    //Time calculations
-    private Duration calculateTotalElapsedTime(Session session){
-        if(session.getStartTime()==null){
+    //Time calculations (package-private for the JMH benchmarks in src/jmh)
+    Duration calculateTotalElapsedTime(LocalDateTime startTime){
+        if(startTime==null){
             return Duration.ZERO;
         }
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startTime = session.getStartTime();
         return durationTime(startTime, now);
     }
-    private Duration calculateTimeRemainingInPhase(Session session){
-        LocalDateTime phaseStartTime = session.getCurrentPhaseStartTime();
-        int phaseDurationMinutes = session.getCurrentDurationMinutes();
-
+    Duration calculateTimeRemainingInPhase(LocalDateTime phaseStartTime, int phaseDurationMinutes){
         Duration elapsedInPhase = durationTime(phaseStartTime, LocalDateTime.now());
 
         Duration totalPhaseTime = Duration.ofMinutes(phaseDurationMinutes);
@@ -846,48 +1125,85 @@ public class SessionServiceImpl implements SessionService {
         return remaining.isNegative() ? Duration.ZERO : remaining;
 
     }
-    private boolean isPhaseOvertime(Session session){
-        Duration remaining = calculateTimeRemainingInPhase(session);
+    private boolean isPhaseOvertime(LocalDateTime phaseStartTime, int phaseDurationMinutes){
+        Duration remaining = calculateTimeRemainingInPhase(phaseStartTime, phaseDurationMinutes);
         return remaining.equals(Duration.ZERO);
     }
 
 
-    // Task progress helpers
-    private int calculateCompletedTasksCount(List<UUID> taskIds) {
-        if (taskIds == null || taskIds.isEmpty()) {
-            return 0;
+    // Progress helpers
+    private SessionProgressView findProgressViewOrThrow(UUID sessionId){
+        return sessionRepository.findProgressView(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found"));
+    }
+
+    private void validateOwnerOrParticipant(SessionProgressView view, List<UUID> activeParticipants, UUID userId){
+        // Participants are checked first: it needs no lookup even for legacy sessions without owner_id
+        if(activeParticipants.contains(userId)){
+            return;
+        }
+        if(!isOwner(view.getOwnerId(), view.getOwnerUsername(), userId)){
+            throw new SessionAccessDeniedException("Access denied: User must be owner or session participant");
         }
-        
-        // TODO: Replace with gRPC call to task service when task service is complete
-        // Example: return taskServiceClient.getCompletedTaskCount(taskIds);
-        // For now, we can't determine completion status from session service
-        log.debug("Task completion count requested for {} tasks - returning 0 until task service integration", taskIds.size());
-        
-        return 0; // Will be replaced with actual gRPC call
     }
-    
-    private boolean isWaitingForBreakSelection(Session session) {
-        if (session == null || session.getCurrentType() == null) {
+
+    private SessionProgressDTO buildSessionProgress(SessionProgressView view, List<UUID> activeParticipants){
+        // Use MapStruct for basic field mapping, then add calculated fields
+        SessionProgressDTO progress = sessionMapper.toProgressDTO(view);
+
+        // Add calculated fields that require business logic
+        progress.setElapsedTime(calculateTotalElapsedTime(view.getStartTime()));
+        progress.setTimeRemainingInPhase(calculateTimeRemainingInPhase(view.getCurrentPhaseStartTime(), view.getCurrentDurationMinutes()));
+
+        // Task total from the same statement; completed tasks come from task-service during enrichment
+        progress.setTotalTasks(view.getTaskCount().intValue());
+        progress.setTasksCompleted(0);
+        progress.setCompletedTaskIds(new ArrayList<>());
+
+        // Participant info from the same statement
+        progress.setActiveParticipants(activeParticipants);
+
+        // Break selection status using helper methods
+        progress.setIsWaitingForBreakSelection(isWaitingForBreakSelection(view.getCurrentType(),
+                view.getIsWaitingForBreakSelection(), view.getCurrentPhaseStartTime(), view.getCurrentDurationMinutes()));
+
+        return progress;
+    }
+
+    private boolean isWaitingForBreakSelection(SessionType currentType, Boolean waitingFlag,
+                                               LocalDateTime phaseStartTime, int phaseDurationMinutes) {
+        if (currentType == null) {
             return false;
         }
         
-        // User should select break type when:
+        // The phase engine persists the flag once the work deadline has passed
+        if (Boolean.TRUE.equals(waitingFlag)) {
+            return true;
+        }
+
+        // Fallback for the window between the deadline and the next engine tick:
         // 1. Currently in a WORK phase
         // 2. Work phase time has expired (overtime)
-        boolean isWorkPhase = session.getCurrentType() == SessionType.WORK;
-        boolean isOvertime = isPhaseOvertime(session);
+        boolean isWorkPhase = currentType == SessionType.WORK;
+        boolean isOvertime = isPhaseOvertime(phaseStartTime, phaseDurationMinutes);
         
         return isWorkPhase && isOvertime;
     }
 
     // Participant helpers
-    private List<UUID> getActiveParticipantIds(UUID sessionId) {
-        if (sessionId == null) {
-            return new ArrayList<>();
+    private List<UUID> parseParticipantIds(String aggregatedIds) {
+        List<UUID> participantIds = new ArrayList<>();
+        if (aggregatedIds == null || aggregatedIds.isEmpty()) {
+            return participantIds;
         }
-        
-        // Reuse existing repository method - already implemented and tested
-        return sessionParticipantRepository.findActiveParticipantUserIds(sessionId);
+        for (String id : aggregatedIds.split(",")) {
+            participantIds.add(UUID.fromString(id.trim()));
+        }
+        return participantIds;
+    }
+
+    // Position of the last row on a history page
+    private record HistoryCursor(LocalDateTime startTime, UUID sessionId) {
     }
 
 
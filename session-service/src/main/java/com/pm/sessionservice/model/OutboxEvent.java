@@ -0,0 +1,39 @@
+package com.pm.sessionservice.model;
+
+import com.pm.sessionservice.Service.Event.SessionEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Session domain event waiting to be relayed, written in the same transaction as the session change.
+ * The identity id orders events; per session it follows commit order because session writes are serialized.
+ */
+@Entity
+@Table(name = "session_outbox", indexes = {
+        @Index(name = "idx_session_outbox_partition_id", columnList = "partition_key, id")
+})
+@Data
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "partition_key", nullable = false)
+    private Integer partitionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private SessionEventType eventType;
+
+    @Column(name = "payload", nullable = false, length = 8000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
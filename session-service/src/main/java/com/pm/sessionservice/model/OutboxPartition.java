@@ -0,0 +1,17 @@
+package com.pm.sessionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Lease row for one outbox partition. The relay that holds its row lock is the only one
+ * draining that partition, which keeps events of a session in order across replicas.
+ */
+@Entity
+@Table(name = "session_outbox_partitions")
+@Data
+public class OutboxPartition {
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+}
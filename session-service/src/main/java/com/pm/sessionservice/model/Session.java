@@ -1,5 +1,6 @@
 package com.pm.sessionservice.model;
 
+import com.pm.common.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -7,8 +8,6 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -21,14 +20,17 @@ import java.util.UUID;
         @Index(name = "idx_sessions_deleted", columnList = "is_deleted"),
         @Index(name = "idx_sessions_created_at", columnList = "created_at"),
         @Index(name = "idx_sessions_owner_status", columnList = "owner_username, status"),
-        @Index(name = "idx_sessions_status_deleted", columnList = "status, is_deleted")
+        @Index(name = "idx_sessions_owner_id_status", columnList = "owner_id, status"),
+        @Index(name = "idx_sessions_owner_history", columnList = "owner_id, start_time, session_id"),
+        @Index(name = "idx_sessions_status_deleted", columnList = "status, is_deleted"),
+        @Index(name = "idx_sessions_status_updated_at", columnList = "status, updated_at")
 })
 
 @Data
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "session_id", updatable = false, nullable = false)
     private UUID sessionId;
 
@@ -36,6 +38,10 @@ public class Session {
     @Column(name = "owner_username", nullable = false, length = 50)
     private String ownerUsername;
 
+    // Ownership checks use this; null only for sessions created before the column existed
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
     @NotBlank
     @Size(min = 1, max = 100)
     @Column(name = "session_name", nullable = false)
@@ -47,6 +53,10 @@ public class Session {
     @Column(name = "start_time")
     private LocalDateTime startTime;
 
+    // End of the planned window [scheduledTime or startTime, plannedEndTime) used for overlap checks
+    @Column(name = "planned_end_time")
+    private LocalDateTime plannedEndTime;
+
     @Column(name = "end_time")
     private LocalDateTime endTime;
 
@@ -111,9 +121,24 @@ public class Session {
     @Column(name = "total_session_duration_minutes")
     private Long totalSessionDurationMinutes;
 
-    // Task references (task-service manages actual tasks)
-    @ElementCollection
-    @CollectionTable(name = "session_tasks", joinColumns = @JoinColumn(name = "session_id"))
-    @Column(name = "task_id")
-    private List<UUID> taskIds = new ArrayList<>();
+    // Optimistic lock and ETag source: Hibernate bumps it on entity updates, bulk UPDATEs in SessionRepository bump it explicitly.
+    // Left null on new sessions so Spring Data treats them as new; Hibernate writes 0 on insert
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // JPA auditing is not enabled, so the NOT NULL timestamps are maintained here
+    @PrePersist
+    void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -1,5 +1,6 @@
 package com.pm.sessionservice.model;
 
+import com.pm.common.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Data;
 import jakarta.validation.constraints.NotNull;
@@ -9,11 +10,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "session_participants")
+@Table(name = "session_participants", indexes = {
+        @Index(name = "idx_session_participants_user_history", columnList = "user_id, session_start_time, session_id")
+})
 @Data
 public class SessionParticipant {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     // Store just the UUID - no JPA relationship
@@ -25,6 +28,10 @@ public class SessionParticipant {
     @Column(name = "user_id", nullable = false)
     private UUID userId;  // References user-service, not a JPA entity
 
+    // Copy of the session's start time (never changes) so a user's history can be paged from this table's index
+    @Column(name = "session_start_time")
+    private LocalDateTime sessionStartTime;
+
     @CreatedDate
     @Column(name = "joined_at", nullable = false)
     private LocalDateTime joinedAt;
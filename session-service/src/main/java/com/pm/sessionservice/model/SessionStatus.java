@@ -2,6 +2,7 @@ package com.pm.sessionservice.model;
 
 public enum SessionStatus {
     CREATED,
+    SCHEDULED,
     ACTIVE,
     PAUSED,
     COMPLETED,
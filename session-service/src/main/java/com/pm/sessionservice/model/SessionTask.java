@@ -0,0 +1,37 @@
+package com.pm.sessionservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Task reference held by a session (task-service manages the actual tasks); one row per (session, task)
+@Entity
+@Table(name = "session_tasks", indexes = {
+        @Index(name = "idx_session_tasks_task", columnList = "task_id")
+})
+@IdClass(SessionTask.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTask {
+
+    @Id
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private UUID taskId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID sessionId;
+        private UUID taskId;
+    }
+}
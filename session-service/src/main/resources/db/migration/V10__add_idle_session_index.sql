@@ -0,0 +1,2 @@
+-- Idle-session reaper: finds ACTIVE/PAUSED sessions by last modification, oldest first
+CREATE INDEX idx_sessions_status_updated_at ON sessions(status, updated_at);
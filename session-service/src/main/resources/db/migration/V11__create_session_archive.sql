@@ -0,0 +1,14 @@
+-- Cold storage for finished sessions (see SessionArchiver)
+-- Archive tables mirror the hot tables column for column (rows are copied with SELECT *),
+-- so any later column change to sessions, session_participants or session_tasks must be applied here too.
+-- Only the indexes history reads need are created; the hot tables' write-side indexes are not copied.
+CREATE TABLE sessions_archive (LIKE sessions INCLUDING DEFAULTS);
+ALTER TABLE sessions_archive ADD PRIMARY KEY (session_id);
+
+CREATE TABLE session_participants_archive (LIKE session_participants INCLUDING DEFAULTS);
+CREATE TABLE session_tasks_archive (LIKE session_tasks INCLUDING DEFAULTS);
+
+CREATE INDEX idx_sessions_archive_owner_history ON sessions_archive(owner_id, start_time, session_id);
+CREATE INDEX idx_session_participants_archive_user_history
+    ON session_participants_archive(user_id, session_start_time, session_id);
+CREATE INDEX idx_session_tasks_archive_session ON session_tasks_archive(session_id);
@@ -0,0 +1,5 @@
+-- Per-session version: optimistic locking and strong ETags on the session read endpoints
+ALTER TABLE sessions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Archive rows are copied with SELECT *, so the archive gets the column in the same position
+ALTER TABLE sessions_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
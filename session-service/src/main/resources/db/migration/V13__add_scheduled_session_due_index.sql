@@ -0,0 +1,4 @@
+-- Scheduled-session activator: due queue of SCHEDULED sessions, earliest first.
+-- Partial, so it only holds sessions still waiting to start and each poll is one short index range scan
+CREATE INDEX idx_sessions_scheduled_due ON sessions(scheduled_time)
+    WHERE status = 'SCHEDULED' AND is_deleted = false;
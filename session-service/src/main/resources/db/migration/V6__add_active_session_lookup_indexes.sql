@@ -0,0 +1,7 @@
+-- Conflict check on create: ACTIVE sessions owned by a user
+CREATE INDEX idx_sessions_owner_active ON sessions(owner_username)
+    WHERE status = 'ACTIVE' AND is_deleted = false;
+
+-- Conflict check on create: sessions a user is actively participating in
+CREATE INDEX idx_session_participants_user_active ON session_participants(user_id, session_id)
+    WHERE is_active = true;
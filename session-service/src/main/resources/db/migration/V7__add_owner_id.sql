@@ -0,0 +1,17 @@
+-- Owner identity as a UUID so ownership checks no longer resolve usernames
+ALTER TABLE sessions ADD COLUMN owner_id UUID;
+
+-- Best-effort backfill from the OWNER participant row where one exists;
+-- remaining rows keep owner_id NULL and fall back to owner_username until the owner next modifies them
+UPDATE sessions s
+SET owner_id = sp.user_id
+FROM session_participants sp
+WHERE sp.session_id = s.session_id
+  AND sp.role = 'OWNER'
+  AND s.owner_id IS NULL;
+
+-- Ownership and active-session probes
+CREATE INDEX idx_sessions_owner_id_status ON sessions(owner_id, status);
+
+-- Superseded by the owner_id index above
+DROP INDEX IF EXISTS idx_sessions_owner_active;
@@ -0,0 +1,20 @@
+-- Transactional outbox: session events written in the same transaction as the session change
+CREATE TABLE session_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    partition_key INTEGER NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Relay drains each partition in id order
+CREATE INDEX idx_session_outbox_partition_id ON session_outbox(partition_key, id);
+
+-- One lease row per partition; the relay holding its lock is the only one draining it
+CREATE TABLE session_outbox_partitions (
+    partition_id INTEGER PRIMARY KEY
+);
+
+INSERT INTO session_outbox_partitions (partition_id)
+SELECT generate_series(0, 15);
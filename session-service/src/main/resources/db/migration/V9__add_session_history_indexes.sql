@@ -0,0 +1,14 @@
+-- Session history keyset pagination on (start_time, session_id)
+
+-- start_time is fixed once a session exists, so participant rows carry a copy
+-- and the joined-sessions branch can seek in index order without touching sessions first
+ALTER TABLE session_participants ADD COLUMN session_start_time TIMESTAMPTZ;
+
+UPDATE session_participants sp
+SET session_start_time = s.start_time
+FROM sessions s
+WHERE s.session_id = sp.session_id
+  AND sp.session_start_time IS NULL;
+
+CREATE INDEX idx_sessions_owner_history ON sessions(owner_id, start_time, session_id);
+CREATE INDEX idx_session_participants_user_history ON session_participants(user_id, session_start_time, session_id);
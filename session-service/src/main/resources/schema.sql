@@ -0,0 +1,10 @@
+-- Embedded databases only (spring.sql.init.mode=embedded): Hibernate generates the hot tables,
+-- this derives the archive tables from them. PostgreSQL gets them from V11__create_session_archive.sql
+CREATE TABLE IF NOT EXISTS sessions_archive AS SELECT * FROM sessions WITH NO DATA;
+CREATE TABLE IF NOT EXISTS session_participants_archive AS SELECT * FROM session_participants WITH NO DATA;
+CREATE TABLE IF NOT EXISTS session_tasks_archive AS SELECT * FROM session_tasks WITH NO DATA;
+
+CREATE INDEX IF NOT EXISTS idx_sessions_archive_owner_history ON sessions_archive(owner_id, start_time, session_id);
+CREATE INDEX IF NOT EXISTS idx_session_participants_archive_user_history
+    ON session_participants_archive(user_id, session_start_time, session_id);
+CREATE INDEX IF NOT EXISTS idx_session_tasks_archive_session ON session_tasks_archive(session_id);
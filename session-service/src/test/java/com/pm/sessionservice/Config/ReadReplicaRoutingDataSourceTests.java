@@ -0,0 +1,80 @@
+package com.pm.sessionservice.Config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes against two separate in-memory databases and checks which one each transaction lands on
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+    private ReadYourWritesGuard guard;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofMillis(300));
+        guard = new ReadYourWritesGuard(properties);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(h2("primarydb"), h2("replicadb"), guard));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertEquals("PRIMARYDB", database(readWrite));
+        assertEquals("REPLICADB", database(readOnly));
+    }
+
+    @Test
+    void recentWriterReadsOwnWritesFromPrimaryUntilWindowPasses() throws InterruptedException {
+        UUID writer = UUID.randomUUID();
+        guard.bind(writer);
+        assertEquals("REPLICADB", database(readOnly));
+        assertEquals("PRIMARYDB", database(readWrite));
+        assertEquals("PRIMARYDB", database(readOnly));
+
+        // Other users are unaffected by someone else's write
+        guard.bind(UUID.randomUUID());
+        assertEquals("REPLICADB", database(readOnly));
+
+        guard.bind(writer);
+        Thread.sleep(500);
+        assertEquals("REPLICADB", database(readOnly));
+    }
+
+    private String database(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
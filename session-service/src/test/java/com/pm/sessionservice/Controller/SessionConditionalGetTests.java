@@ -0,0 +1,128 @@
+package com.pm.sessionservice.Controller;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Metrics.SqlStatementCounter;
+import com.pm.sessionservice.Service.SessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // MockMvc runs the request on the test thread, so the per-thread count covers exactly that request
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Test
+    void unchangedTaskListIsAnsweredFromOneVersionLookup() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        sessionService.addTaskToSession(sessionId, UUID.randomUUID(), ownerId, false);
+        String path = "/api/sessions/" + sessionId + "/tasks";
+
+        String eTag = fetchETag(path, ownerId);
+
+        long statementsBefore = sqlStatementCounter.current();
+        mockMvc.perform(get(path).header("X-User-ID", ownerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        assertEquals(1, sqlStatementCounter.current() - statementsBefore);
+
+        // Adding a task touches only session_tasks, yet the version still moves
+        sessionService.addTaskToSession(sessionId, UUID.randomUUID(), ownerId, false);
+        mockMvc.perform(get(path).header("X-User-ID", ownerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, fetchETag(path, ownerId));
+    }
+
+    @Test
+    void participantChangesInvalidateTheParticipantListTag() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO session = sessionService.createSession(newRequest(), ownerId);
+        String path = "/api/sessions/" + session.getSessionId() + "/participants";
+        String eTag = fetchETag(path, ownerId);
+
+        // Admission is a bulk UPDATE on the session row, which bumps the version explicitly
+        UUID participantId = UUID.randomUUID();
+        sessionService.joinSession(session.getSessionId(), participantId, session.getInviteCode());
+        mockMvc.perform(get(path).header("X-User-ID", participantId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        // The version lookup applies the same access rule as the list itself
+        assertThrows(SessionAccessDeniedException.class,
+                () -> sessionService.getSessionVersion(session.getSessionId(), UUID.randomUUID()));
+    }
+
+    @Test
+    void currentSessionTagFollowsEntityAndBulkUpdates() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        String path = "/api/sessions/current";
+        String eTag = fetchETag(path, ownerId);
+
+        mockMvc.perform(get(path).header("X-User-ID", ownerId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\", " + eTag))
+                .andExpect(status().isNotModified());
+
+        sessionService.pauseSession(sessionId, ownerId);
+        SessionResponseDTO resumed = sessionService.resumeSession(sessionId, ownerId);
+        String resumedETag = fetchETag(path, ownerId);
+        assertNotEquals(eTag, resumedETag);
+        // A mutation's response carries the version it committed, so it can be used as the next If-None-Match
+        assertEquals("\"" + sessionId + "." + resumed.getVersion() + "\"", resumedETag);
+
+        // The phase engine flips expired phases with a bulk UPDATE, which bumps the version explicitly
+        long before = sessionService.getCurrentActiveSessionVersion(ownerId).getVersion();
+        Integer flipped = transactionTemplate.execute(status -> sessionRepository.completeExpiredWorkPhase(
+                sessionId, 25, LocalDateTime.now().plusMinutes(1)));
+        assertEquals(Integer.valueOf(1), flipped);
+        assertEquals(before + 1, sessionService.getCurrentActiveSessionVersion(ownerId).getVersion());
+    }
+
+    private String fetchETag(String path, UUID userId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("X-User-ID", userId))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package com.pm.sessionservice.Service.Accounting;
+
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.ParticipantRole;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionParticipant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Flushes are driven by the test, never by the background flusher
+@SpringBootTest(properties = "session.focus-time.flush-interval=1h")
+class FocusTimeAccumulatorTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private FocusTimeAccumulator focusTimeAccumulator;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Test
+    void completedWorkPhasesAreCreditedToPresentParticipantsAndFlushedInOneBatch() {
+        focusTimeAccumulator.flush();
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime phaseStart = LocalDateTime.now().minusMinutes(25);
+        Session session = saveSession(ownerId, phaseStart);
+        UUID fromStart = addParticipant(session.getSessionId(), phaseStart.minusMinutes(5), true);
+        UUID lateJoiner = addParticipant(session.getSessionId(), LocalDateTime.now().minusMinutes(10), true);
+        UUID away = addParticipant(session.getSessionId(), phaseStart, false);
+
+        sessionService.completeWorkPhase(session.getSessionId(), ownerId);
+
+        // Nothing is written per participant until the flush
+        assertEquals(0, participant(fromStart).getTotalSessionTimeMinutes());
+        assertEquals(2, focusTimeAccumulator.pendingCount());
+        assertEquals(2, focusTimeAccumulator.flush());
+        assertEquals(0, focusTimeAccumulator.pendingCount());
+
+        assertEquals(25, participant(fromStart).getTotalSessionTimeMinutes());
+        assertEquals(1, participant(fromStart).getWorkSessionsParticipated());
+        assertEquals(10, participant(lateJoiner).getTotalSessionTimeMinutes());
+        assertEquals(1, participant(lateJoiner).getWorkSessionsParticipated());
+        assertEquals(0, participant(away).getTotalSessionTimeMinutes());
+        assertEquals(0, participant(away).getWorkSessionsParticipated());
+
+        // Several phases between flushes collapse into one row update per participant;
+        // credit only covers the part of each phase after the participant joined
+        LocalDateTime now = LocalDateTime.now();
+        focusTimeAccumulator.creditWorkPhase(session.getSessionId(), now.minusMinutes(50), now.minusMinutes(25));
+        focusTimeAccumulator.creditWorkPhase(session.getSessionId(), now.minusMinutes(25), now);
+        assertEquals(2, focusTimeAccumulator.flush());
+
+        assertEquals(55, participant(fromStart).getTotalSessionTimeMinutes());
+        assertEquals(3, participant(fromStart).getWorkSessionsParticipated());
+        assertEquals(20, participant(lateJoiner).getTotalSessionTimeMinutes());
+        assertEquals(3, participant(lateJoiner).getWorkSessionsParticipated());
+    }
+
+    private SessionParticipant participant(UUID id) {
+        return sessionParticipantRepository.findById(id).orElseThrow();
+    }
+
+    private Session saveSession(UUID ownerId, LocalDateTime phaseStart) {
+        Session session = SessionFixtures.activeSession(ownerId, phaseStart);
+        session.setCurrentDurationMinutes(25);
+        return sessionRepository.save(session);
+    }
+
+    private UUID addParticipant(UUID sessionId, LocalDateTime joinedAt, boolean inSession) {
+        SessionParticipant participant = new SessionParticipant();
+        participant.setSessionId(sessionId);
+        participant.setUserId(UUID.randomUUID());
+        participant.setJoinedAt(joinedAt);
+        participant.setRole(ParticipantRole.PARTICIPANT);
+        participant.setIsActive(true);
+        participant.setCurrentSessionStartTime(joinedAt);
+        participant.setIsCurrentlyInSession(inSession);
+        return sessionParticipantRepository.save(participant).getId();
+    }
+}
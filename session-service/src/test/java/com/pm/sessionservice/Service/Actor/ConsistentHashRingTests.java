@@ -0,0 +1,38 @@
+package com.pm.sessionservice.Service.Actor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTests {
+
+    private static final int SESSIONS = 20_000;
+
+    @Test
+    void sessionsSpreadEvenlyAndOnlyARemovedReplicasSessionsMove() {
+        ConsistentHashRing threeReplicas = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing twoReplicas = new ConsistentHashRing(List.of("a", "b"), 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            UUID sessionId = UUID.randomUUID();
+            String owner = threeReplicas.ownerOf(sessionId);
+            owned.merge(owner, 1, Integer::sum);
+            assertEquals(owner, threeReplicas.ownerOf(sessionId));
+            if (!owner.equals("c")) {
+                assertEquals(owner, twoReplicas.ownerOf(sessionId));
+            }
+        }
+
+        assertEquals(3, owned.size());
+        for (int count : owned.values()) {
+            assertTrue(Math.abs(count - SESSIONS / 3) < SESSIONS / 10, "uneven spread " + owned);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.pm.sessionservice.Service.Actor;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.Exception.InvalidSessionDataException;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Cache.SessionCache;
+import com.pm.sessionservice.Service.Scheduler.PhaseScheduler;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "session.actors.enabled=true")
+class SessionActorsTests {
+
+    @Autowired
+    private SessionActors sessionActors;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private PhaseScheduler phaseScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void mutationsQueuedBehindARunningOneCommitTogether() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        long versionBefore = version(sessionId);
+        double batchesBefore = batchCount();
+
+        CountDownLatch release = holdActor(sessionId);
+        List<UUID> taskIds = new ArrayList<>();
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID taskId = UUID.randomUUID();
+            taskIds.add(taskId);
+            calls.add(submit(sessionId, () -> sessionService.addTaskToSession(sessionId, taskId, ownerId, false)));
+        }
+        awaitPending(sessionId, 10);
+        release.countDown();
+        for (CompletableFuture<?> call : calls) {
+            call.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Set.copyOf(taskIds), Set.copyOf(sessionService.getSessionTasks(sessionId, ownerId)));
+        // Every addition is still its own version, but the ten of them shared one transaction
+        assertEquals(versionBefore + 10, version(sessionId));
+        assertEquals(batchesBefore + 2, batchCount());
+        assertEquals(0, sessionActors.activeMailboxes());
+    }
+
+    @Test
+    void failingMutationOnlyFailsItsOwnCaller() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        CountDownLatch release = holdActor(sessionId);
+        CompletableFuture<?> addFirst = submit(sessionId, () -> sessionService.addTaskToSession(sessionId, first, ownerId, false));
+        awaitPending(sessionId, 1);
+        CompletableFuture<?> duplicate = submit(sessionId, () -> sessionService.addTaskToSession(sessionId, first, ownerId, false));
+        awaitPending(sessionId, 2);
+        CompletableFuture<?> addSecond = submit(sessionId, () -> sessionService.addTaskToSession(sessionId, second, ownerId, false));
+        awaitPending(sessionId, 3);
+        release.countDown();
+
+        addFirst.get(30, TimeUnit.SECONDS);
+        addSecond.get(30, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> duplicate.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidSessionDataException.class, failure.getCause());
+        assertEquals(Set.of(first, second), new HashSet<>(sessionService.getSessionTasks(sessionId, ownerId)));
+    }
+
+    @Test
+    void failedMutationInABatchLeavesNoCacheOrDeadlineBehind() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        long deadlinesBefore = phaseScheduler.scheduledCount();
+        double replaysBefore = replayCount();
+        // The batch starts on a cache miss, so its reads see the batch's own uncommitted row
+        sessionCache.evictAll();
+
+        CountDownLatch release = holdActor(sessionId);
+        CompletableFuture<?> pause = submit(sessionId, () -> sessionService.pauseSession(sessionId, ownerId));
+        awaitPending(sessionId, 1);
+        // Resumes (cache write, new deadline, change event) and then fails: all of that must be undone
+        CompletableFuture<?> resumeThenFail = submit(sessionId, () -> {
+            sessionService.resumeSession(sessionId, ownerId);
+            throw new IllegalStateException("failed after resuming");
+        });
+        awaitPending(sessionId, 2);
+        UUID taskId = UUID.randomUUID();
+        CompletableFuture<?> addTask = submit(sessionId, () -> sessionService.addTaskToSession(sessionId, taskId, ownerId, false));
+        awaitPending(sessionId, 3);
+        release.countDown();
+
+        pause.get(30, TimeUnit.SECONDS);
+        addTask.get(30, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> resumeThenFail.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        // Only the failing mutation was rolled back (to its savepoint); the batch was not replayed
+        assertEquals(replaysBefore, replayCount());
+
+        Session stored = sessionRepository.findById(sessionId).orElseThrow();
+        Session cached = sessionCache.get(sessionId).orElseThrow();
+        assertEquals(SessionStatus.PAUSED, stored.getStatus());
+        assertEquals(SessionStatus.PAUSED, cached.getStatus());
+        assertEquals(stored.getVersion(), cached.getVersion());
+        assertEquals(deadlinesBefore - 1, phaseScheduler.scheduledCount());
+        assertEquals(List.of(taskId), sessionService.getSessionTasks(sessionId, ownerId));
+    }
+
+    // Occupies the session's actor until the latch is released
+    @Test
+    void joinedFailureOutsideABatchStillDoomsItsTransaction() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+
+        // Only batch mutations are exempt; any other caller that swallows a joined failure cannot commit
+        assertThrows(UnexpectedRollbackException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            sessionService.addTaskToSession(sessionId, UUID.randomUUID(), ownerId, false);
+            assertThrows(SessionAccessDeniedException.class,
+                    () -> sessionService.pauseSession(sessionId, UUID.randomUUID()));
+        }));
+
+        assertTrue(sessionService.getSessionTasks(sessionId, ownerId).isEmpty());
+    }
+
+    private CountDownLatch holdActor(UUID sessionId) throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        submit(sessionId, () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private <T> CompletableFuture<T> submit(UUID sessionId, java.util.function.Supplier<T> mutation) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                call.complete(sessionActors.execute(sessionId, mutation));
+            } catch (RuntimeException e) {
+                call.completeExceptionally(e);
+            }
+        });
+        return call;
+    }
+
+    private void awaitPending(UUID sessionId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sessionActors.pendingMutations(sessionId) < expected) {
+            assertTrue(System.nanoTime() < deadline, "mutations were not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private long version(UUID sessionId) {
+        return sessionRepository.findById(sessionId).orElseThrow().getVersion();
+    }
+
+    private double replayCount() {
+        return meterRegistry.get("session.actors.batch.replays").counter().count();
+    }
+
+    private double batchCount() {
+        return meterRegistry.get("session.actors.batch.size").summary().count();
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+}
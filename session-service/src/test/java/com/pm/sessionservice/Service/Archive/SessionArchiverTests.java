@@ -0,0 +1,124 @@
+package com.pm.sessionservice.Service.Archive;
+
+import com.pm.sessionservice.DTO.SessionHistoryPageDTO;
+import com.pm.sessionservice.DTO.SessionSummaryDTO;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionTaskRepository;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.ParticipantRole;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionParticipant;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionTask;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs are driven by the test; small batches so a run spans several transactions
+@SpringBootTest(properties = {
+        "session.archive.run-interval=1h",
+        "session.archive.archive-after=1d",
+        "session.archive.batch-size=2"
+})
+class SessionArchiverTests {
+
+    @Autowired
+    private SessionArchiver sessionArchiver;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private SessionTaskRepository sessionTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void finishedSessionsMoveToArchiveAndStayInHistory() {
+        UUID userId = UUID.randomUUID();
+        Session ownedCompleted = saveSession(userId, SessionStatus.COMPLETED, false, 3);
+        Session ownedCancelled = saveSession(userId, SessionStatus.CANCELLED, false, 4);
+        Session joinedCompleted = saveSession(UUID.randomUUID(), SessionStatus.COMPLETED, false, 5);
+        addParticipant(joinedCompleted, userId);
+        Session deleted = saveSession(userId, SessionStatus.ACTIVE, true, 6);
+        Session recentlyCompleted = saveSession(userId, SessionStatus.COMPLETED, false, 0);
+        Session live = saveSession(userId, SessionStatus.ACTIVE, false, 7);
+        for (Session session : List.of(ownedCompleted, ownedCancelled, joinedCompleted, deleted, live)) {
+            age(session);
+        }
+
+        assertEquals(4, sessionArchiver.archiveFinishedSessions());
+        assertEquals(0, sessionArchiver.archiveFinishedSessions());
+
+        for (Session session : List.of(ownedCompleted, ownedCancelled, joinedCompleted, deleted)) {
+            assertFalse(sessionRepository.existsById(session.getSessionId()));
+            assertEquals(1, count("sessions_archive", session.getSessionId()));
+            assertEquals(2, count("session_tasks_archive", session.getSessionId()));
+            assertEquals(0, count("session_tasks", session.getSessionId()));
+        }
+        assertEquals(1, count("session_participants_archive", joinedCompleted.getSessionId()));
+        assertEquals(0, count("session_participants", joinedCompleted.getSessionId()));
+        assertTrue(sessionRepository.existsById(recentlyCompleted.getSessionId()));
+        assertTrue(sessionRepository.existsById(live.getSessionId()));
+
+        // History reads union hot and archived rows; soft-deleted sessions stay hidden
+        SessionHistoryPageDTO page = sessionService.getSessionHistory(userId, null, 10);
+        List<UUID> history = page.getSessions().stream().map(SessionSummaryDTO::getSessionId).toList();
+        assertEquals(List.of(recentlyCompleted.getSessionId(), ownedCompleted.getSessionId(),
+                ownedCancelled.getSessionId(), joinedCompleted.getSessionId(), live.getSessionId()), history);
+        assertTrue(sessionParticipantRepository.findSessionIdsByUserId(userId).contains(joinedCompleted.getSessionId()));
+    }
+
+    private int count(String table, UUID sessionId) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE session_id = ?", Integer.class, sessionId);
+        return rows != null ? rows : 0;
+    }
+
+    // updated_at is maintained by the entity, so age it behind its back
+    private void age(Session session) {
+        jdbcTemplate.update("UPDATE sessions SET updated_at = ? WHERE session_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)), session.getSessionId());
+    }
+
+    private Session saveSession(UUID ownerId, SessionStatus status, boolean deleted, int startedDaysAgo) {
+        Session session = SessionFixtures.activeSession(ownerId);
+        session.setStatus(status);
+        session.setIsDeleted(deleted);
+        session.setStartTime(LocalDateTime.now().minusDays(startedDaysAgo).minusHours(1));
+        Session saved = sessionRepository.save(session);
+        sessionTaskRepository.save(new SessionTask(saved.getSessionId(), UUID.randomUUID()));
+        sessionTaskRepository.save(new SessionTask(saved.getSessionId(), UUID.randomUUID()));
+        return saved;
+    }
+
+    private void addParticipant(Session session, UUID userId) {
+        SessionParticipant participant = new SessionParticipant();
+        participant.setSessionId(session.getSessionId());
+        participant.setUserId(userId);
+        participant.setSessionStartTime(session.getStartTime());
+        participant.setJoinedAt(session.getStartTime());
+        participant.setRole(ParticipantRole.PARTICIPANT);
+        participant.setIsActive(false);
+        sessionParticipantRepository.save(participant);
+    }
+}
@@ -0,0 +1,156 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.pm.sessionservice.Config.ActiveSessionRegistryProperties;
+import com.pm.sessionservice.Repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Register / deactivate / reactivate transitions of the registry, against a mocked repository
+ */
+class ActiveSessionRegistryTests {
+
+    private SessionRepository sessionRepository;
+    private ActiveSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = mock(SessionRepository.class);
+        when(sessionRepository.findActiveSessionIdsForUser(any())).thenReturn(List.of());
+        registry = new ActiveSessionRegistry(new ActiveSessionRegistryProperties(), sessionRepository, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void registeredUserIsServedFromCacheUntilTheSessionIsDeactivated() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+
+        registry.register(userId, sessionId);
+        assertEquals(Optional.of(sessionId), registry.findActiveSessionId(userId));
+        assertEquals(Set.of(userId), registry.indexedUsers(sessionId));
+        verify(sessionRepository, never()).findActiveSessionIdsForUser(userId);
+
+        registry.sessionDeactivated(sessionId);
+        assertEquals(Set.of(), registry.indexedUsers(sessionId));
+        assertEquals(Optional.empty(), registry.findActiveSessionId(userId));
+        verify(sessionRepository, times(1)).findActiveSessionIdsForUser(userId);
+    }
+
+    @Test
+    void reactivationInvalidatesNegativeEntries() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        assertEquals(Optional.empty(), registry.findActiveSessionId(userId));
+        assertEquals(Optional.empty(), registry.findActiveSessionId(userId));
+        verify(sessionRepository, times(1)).findActiveSessionIdsForUser(userId);
+
+        when(sessionRepository.findActiveSessionIdsForUser(userId)).thenReturn(List.of(sessionId));
+        registry.sessionReactivated();
+
+        assertEquals(Optional.of(sessionId), registry.findActiveSessionId(userId));
+        assertEquals(Set.of(userId), registry.indexedUsers(sessionId));
+    }
+
+    @Test
+    void lookupThatRacesADeactivationIsNotCached() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sessionRepository.findActiveSessionIdsForUser(userId)).thenAnswer(invocation -> {
+            querying.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return List.of(sessionId);
+        });
+
+        CompletableFuture<Optional<UUID>> lookup = CompletableFuture.supplyAsync(() -> registry.findActiveSessionId(userId));
+        assertTrue(querying.await(10, TimeUnit.SECONDS));
+        // The query runs outside the cache lock, so writers for the same user are not held up by it
+        CompletableFuture.runAsync(() -> registry.unregister(userId)).get(5, TimeUnit.SECONDS);
+        registry.sessionDeactivated(sessionId);
+        release.countDown();
+
+        assertEquals(Optional.of(sessionId), lookup.get(10, TimeUnit.SECONDS));
+        assertEquals(Set.of(), registry.indexedUsers(sessionId));
+        when(sessionRepository.findActiveSessionIdsForUser(userId)).thenReturn(List.of());
+        assertEquals(Optional.empty(), registry.findActiveSessionId(userId));
+    }
+
+    @Test
+    void registrationCommittedAfterADeactivationIsDropped() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.register(userId, sessionId);
+        // The deactivating transaction commits first, on another thread
+        CompletableFuture.runAsync(() -> registry.sessionDeactivated(sessionId)).get(5, TimeUnit.SECONDS);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(Optional.empty(), registry.findActiveSessionId(userId));
+        assertEquals(Set.of(), registry.indexedUsers(sessionId));
+    }
+
+    @Test
+    void remoteEvictionDropsOnlyTheChangedSessionsUsers() {
+        UUID changed = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        registry.register(first, changed);
+        registry.register(second, changed);
+        registry.register(other, untouched);
+
+        registry.evictSessions(List.of(changed));
+
+        assertEquals(Set.of(), registry.indexedUsers(changed));
+        assertEquals(Set.of(other), registry.indexedUsers(untouched));
+        assertEquals(Optional.of(untouched), registry.findActiveSessionId(other));
+        assertEquals(Optional.empty(), registry.findActiveSessionId(first));
+        verify(sessionRepository, never()).findActiveSessionIdsForUser(other);
+    }
+
+    @Test
+    void reactivatedSessionCanBeRegisteredAgain() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        registry.register(userId, sessionId);
+        registry.sessionDeactivated(sessionId);
+
+        registry.sessionReactivated();
+        registry.register(userId, sessionId);
+
+        assertEquals(Optional.of(sessionId), registry.findActiveSessionId(userId));
+        assertEquals(Set.of(userId), registry.indexedUsers(sessionId));
+    }
+}
@@ -0,0 +1,83 @@
+package com.pm.sessionservice.Service.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    @Test
+    void findsContainingContainedAndPartialOverlapsButNotAdjacentWindows() {
+        IntervalTree tree = new IntervalTree();
+        UUID morning = UUID.randomUUID();
+        UUID allDay = UUID.randomUUID();
+        UUID afternoon = UUID.randomUUID();
+        tree.put(morning, at(0), at(120));
+        tree.put(allDay, at(-60), at(600));
+        tree.put(afternoon, at(300), at(360));
+
+        // Fully inside the all-day window: the case start/end BETWEEN checks miss
+        assertEquals(Set.of(allDay), Set.copyOf(tree.overlapping(at(180), at(240))));
+        assertEquals(Set.of(morning, allDay), Set.copyOf(tree.overlapping(at(100), at(130))));
+        // Half-open: a window ending exactly when the afternoon starts does not conflict with it
+        assertEquals(Set.of(allDay), Set.copyOf(tree.overlapping(at(240), at(300))));
+        assertEquals(List.of(), tree.overlapping(at(600), at(700)));
+
+        tree.remove(allDay);
+        assertEquals(List.of(), tree.overlapping(at(180), at(240)));
+        tree.put(morning, at(180), at(200));
+        assertEquals(List.of(morning), tree.overlapping(at(180), at(240)));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void matchesABruteForceScanUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<UUID, LocalDateTime[]> windows = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (ids.isEmpty() || random.nextInt(3) > 0) {
+                UUID id = UUID.randomUUID();
+                int start = random.nextInt(10_000);
+                LocalDateTime[] window = {at(start), at(start + 1 + random.nextInt(300))};
+                tree.put(id, window[0], window[1]);
+                windows.put(id, window);
+                ids.add(id);
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                assertTrue(tree.remove(id));
+                windows.remove(id);
+            }
+
+            int start = random.nextInt(10_000);
+            LocalDateTime queryStart = at(start);
+            LocalDateTime queryEnd = at(start + 1 + random.nextInt(300));
+            Set<UUID> expected = new HashSet<>();
+            windows.forEach((id, window) -> {
+                if (window[0].isBefore(queryEnd) && queryStart.isBefore(window[1])) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, Set.copyOf(tree.overlapping(queryStart, queryEnd)));
+        }
+        assertEquals(windows.size(), tree.size());
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+}
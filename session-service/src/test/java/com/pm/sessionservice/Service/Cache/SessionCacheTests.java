@@ -0,0 +1,95 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SessionCacheTests {
+
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void readerHoldingTheRowFromBeforeABulkUpdateCannotRepopulateIt() {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO created = sessionService.createSession(newRequest(), ownerId);
+        UUID sessionId = created.getSessionId();
+        assertEquals(1, sessionCache.get(sessionId).orElseThrow().getCurrentParticipantCount());
+
+        // A reader loads the row, then a join (conditional bulk UPDATE) commits before it caches it
+        Session staleRead = sessionRepository.findById(sessionId).orElseThrow();
+        sessionService.joinSession(sessionId, UUID.randomUUID(), created.getInviteCode());
+        Session committed = sessionRepository.findById(sessionId).orElseThrow();
+        assertTrue(committed.getVersion() > staleRead.getVersion());
+        assertEquals(2, sessionCache.get(sessionId).orElseThrow().getCurrentParticipantCount());
+
+        // Even once the entry is gone (size/TTL eviction), the older row is refused
+        sessionCache.evictAll();
+        sessionCache.populate(staleRead, sessionCache.loadStamp());
+        assertTrue(sessionCache.get(sessionId).isEmpty());
+
+        SessionResponseDTO read = sessionService.getCurrentActiveSession(ownerId, false);
+        assertEquals(2, read.getCurrentParticipantCount());
+        assertEquals(committed.getVersion(), sessionCache.get(sessionId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void endedSessionIsNotResurrectedByALateReader() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        long loadStamp = sessionCache.loadStamp();
+        Session staleRead = sessionRepository.findById(sessionId).orElseThrow();
+
+        sessionService.endSession(sessionId, ownerId, null);
+        sessionCache.populate(staleRead, loadStamp);
+
+        assertTrue(sessionCache.get(sessionId).isEmpty());
+    }
+
+    @Test
+    void readInsideARolledBackTransactionLeavesNoPhantomEntry() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        sessionCache.evictAll();
+
+        // A cache miss after an uncommitted write loads the managed row, pause included
+        transactionTemplate.executeWithoutResult(status -> {
+            sessionService.pauseSession(sessionId, ownerId);
+            assertTrue(sessionService.isUserSessionOwner(sessionId, ownerId));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(sessionCache.get(sessionId).isEmpty());
+        assertEquals(SessionStatus.ACTIVE, sessionService.getCurrentActiveSession(ownerId, false).getStatus());
+        assertEquals(SessionStatus.ACTIVE, sessionCache.get(sessionId).orElseThrow().getStatus());
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+}
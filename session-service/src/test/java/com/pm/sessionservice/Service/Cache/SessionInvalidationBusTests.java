@@ -0,0 +1,184 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.pm.sessionservice.Config.CacheInvalidationProperties;
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.Service.Stream.SessionProgressBroadcaster;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Batching and eviction logic of the invalidation bus; NOTIFY delivery itself needs PostgreSQL
+ */
+@SpringBootTest
+class SessionInvalidationBusTests {
+
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private ActiveSessionRegistry activeSessionRegistry;
+
+    @Autowired
+    private SessionWindowIndex sessionWindowIndex;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionProgressBroadcaster progressBroadcaster;
+
+    private SessionInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setMaxIdsPerNotification(3);
+        progressBroadcaster = mock(SessionProgressBroadcaster.class);
+        bus = new SessionInvalidationBus(properties, dataSourceProperties, jdbcTemplate,
+                sessionCache, activeSessionRegistry, sessionWindowIndex, progressBroadcaster, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void changesWithinAWindowAreDedupedAndBatched() {
+        UUID repeated = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            bus.onSessionChanged(SessionChangedEvent.builder().sessionId(repeated).build());
+        }
+        for (int i = 0; i < 4; i++) {
+            bus.onSessionChanged(SessionChangedEvent.builder().sessionId(UUID.randomUUID()).build());
+        }
+
+        List<String> payloads = bus.drainPayloads();
+
+        assertEquals(2, payloads.size());
+        assertEquals(3, ids(payloads.get(0)).length);
+        assertEquals(2, ids(payloads.get(1)).length);
+        assertTrue(bus.drainPayloads().isEmpty());
+    }
+
+    @Test
+    void foreignPayloadEvictsSessionsButOwnPayloadIsIgnored() {
+        Session cached = cacheSession();
+        UUID sessionId = cached.getSessionId();
+
+        bus.onSessionChanged(SessionChangedEvent.builder().sessionId(sessionId).build());
+        bus.onNotification(bus.drainPayloads().get(0));
+        assertTrue(sessionCache.get(sessionId).isPresent());
+
+        bus.onNotification(UUID.randomUUID() + "|" + UUID.randomUUID() + "," + sessionId);
+        assertFalse(sessionCache.get(sessionId).isPresent());
+    }
+
+    @Test
+    void foreignPayloadRefreshesProgressStreams() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        bus.onSessionChanged(SessionChangedEvent.builder().sessionId(first).build());
+        bus.onNotification(bus.drainPayloads().get(0));
+        verify(progressBroadcaster, never()).sessionsChanged(any());
+
+        // Subscribers on this replica get the deltas of changes committed elsewhere
+        bus.onNotification(UUID.randomUUID() + "|" + first + "," + second);
+        verify(progressBroadcaster).sessionsChanged(Set.of(first, second));
+
+        bus.onListening();
+        verify(progressBroadcaster).refreshAll();
+    }
+
+    @Test
+    void remoteAdmissionClearsCachedNegativeEntries() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        UUID userId = UUID.randomUUID();
+        assertEquals(Optional.empty(), activeSessionRegistry.findActiveSessionId(userId));
+
+        // Another replica admits the user: the row changes without touching this node's registry
+        jdbcTemplate.update("INSERT INTO session_participants (id, session_id, user_id, role, is_active, " +
+                "joined_at, is_currently_in_session) VALUES (?, ?, ?, 'PARTICIPANT', true, CURRENT_TIMESTAMP, true)",
+                UUID.randomUUID(), sessionId, userId);
+        assertEquals(Optional.empty(), activeSessionRegistry.findActiveSessionId(userId));
+
+        bus.onNotification(UUID.randomUUID() + "|" + sessionId);
+        assertEquals(Optional.of(sessionId), activeSessionRegistry.findActiveSessionId(userId));
+    }
+
+    @Test
+    void readerThatLoadedBeforeARemoteChangeCannotCacheIt() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        sessionCache.evictAll();
+        long loadStamp = sessionCache.loadStamp();
+        Session staleRead = sessionRepository.findById(sessionId).orElseThrow();
+
+        // Another replica renames the session; this replica never sees the new version
+        jdbcTemplate.update("UPDATE sessions SET session_name = 'Renamed', version = version + 1 WHERE session_id = ?",
+                sessionId);
+        bus.onNotification(UUID.randomUUID() + "|" + sessionId);
+
+        sessionCache.populate(staleRead, loadStamp);
+        assertFalse(sessionCache.get(sessionId).isPresent());
+        assertEquals("Renamed", sessionService.getCurrentActiveSession(ownerId, false).getSessionName());
+        assertEquals("Renamed", sessionCache.get(sessionId).orElseThrow().getSessionName());
+    }
+
+    @Test
+    void reconnectFlushesEverything() {
+        UUID sessionId = cacheSession().getSessionId();
+
+        bus.onListening();
+
+        assertFalse(sessionCache.get(sessionId).isPresent());
+    }
+
+    private Session cacheSession() {
+        Session session = new Session();
+        session.setSessionId(UUID.randomUUID());
+        session.setStatus(SessionStatus.ACTIVE);
+        session.setIsDeleted(false);
+        sessionCache.put(session);
+        return session;
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+
+    private static String[] ids(String payload) {
+        return payload.substring(payload.indexOf('|') + 1).split(",");
+    }
+}
@@ -0,0 +1,111 @@
+package com.pm.sessionservice.Service.Cache;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Exception.SessionConflictException;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class SessionWindowIndexTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionWindowIndex sessionWindowIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void schedulingRejectsOverlappingWindowsOfTheSameOwner() {
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime nine = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS).plusHours(9);
+        SessionResponseDTO morning = schedule(ownerId, nine, 60);
+        assertEquals(nine.plusHours(1), morning.getPlannedEndTime());
+
+        assertThrows(SessionConflictException.class, () -> schedule(ownerId, nine.plusMinutes(30), 60));
+        // Contains the morning session entirely
+        assertThrows(SessionConflictException.class, () -> schedule(ownerId, nine.minusHours(1), 240));
+        // Back to back is fine, and other owners are unaffected
+        schedule(ownerId, nine.plusHours(1), 60);
+        schedule(UUID.randomUUID(), nine, 60);
+
+        // A tree reloaded from the database agrees, containment included
+        sessionWindowIndex.evictAll();
+        assertEquals(List.of(morning.getSessionId()),
+                sessionWindowIndex.findConflicts(ownerId, nine.plusMinutes(10), nine.plusMinutes(20)));
+
+        // Cancelling frees the window
+        sessionService.endSession(morning.getSessionId(), ownerId, null);
+        schedule(ownerId, nine.plusMinutes(30), 30);
+    }
+
+    @Test
+    void runningSessionOccupiesItsPlannedWindowUntilItEnds() {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO running = sessionService.createSession(request(null, 120), ownerId);
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        assertEquals(List.of(running.getSessionId()), sessionWindowIndex.findConflicts(ownerId, inAnHour, inAnHour.plusMinutes(30)));
+        assertThrows(SessionConflictException.class, () -> schedule(ownerId, inAnHour, 30));
+
+        sessionService.endSession(running.getSessionId(), ownerId, null);
+        assertEquals(List.of(), sessionWindowIndex.findConflicts(ownerId, inAnHour, inAnHour.plusMinutes(30)));
+        schedule(ownerId, inAnHour, 30);
+    }
+
+    @Test
+    void overlapCaughtOnlyByTheConstraintIsReportedAsAConflict() {
+        UUID ownerId = UUID.randomUUID();
+        LocalDateTime nine = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.DAYS).plusHours(9);
+        // This replica's tree is loaded (and empty) before another replica schedules the same window
+        assertEquals(List.of(), sessionWindowIndex.findConflicts(ownerId, nine, nine.plusHours(1)));
+        Session elsewhere = SessionFixtures.activeSession(ownerId);
+        elsewhere.setStatus(SessionStatus.SCHEDULED);
+        elsewhere.setScheduledTime(nine);
+        elsewhere.setStartTime(null);
+        elsewhere.setCurrentPhaseStartTime(null);
+        elsewhere.setPlannedEndTime(nine.plusHours(1));
+
+        // H2 has no exclusion constraints: a unique one under the same name stands in for it
+        jdbcTemplate.execute("ALTER TABLE sessions ADD CONSTRAINT sessions_scheduled_no_overlap UNIQUE (owner_id, scheduled_time)");
+        try {
+            sessionRepository.save(elsewhere);
+            assertThrows(SessionConflictException.class, () -> schedule(ownerId, nine, 60));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE sessions DROP CONSTRAINT sessions_scheduled_no_overlap");
+        }
+    }
+
+    private SessionResponseDTO schedule(UUID ownerId, LocalDateTime at, int minutes) {
+        return sessionService.createSession(request(at, minutes), ownerId);
+    }
+
+    private SessionRequestDTO request(LocalDateTime scheduledTime, Integer plannedMinutes) {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Deep work");
+        request.setScheduledTime(scheduledTime);
+        request.setPlannedDurationMinutes(plannedMinutes);
+        return request;
+    }
+}
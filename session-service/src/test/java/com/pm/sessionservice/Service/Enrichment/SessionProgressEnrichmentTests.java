@@ -0,0 +1,156 @@
+package com.pm.sessionservice.Service.Enrichment;
+
+import com.pm.sessionservice.Config.ProgressEnrichmentProperties;
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.DTO.UserSummaryDTO;
+import com.pm.sessionservice.Service.Task.TaskDirectoryBackend;
+import com.pm.sessionservice.Service.User.StubUserDirectoryBackend;
+import com.pm.sessionservice.Service.User.UserDirectoryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fan-out behaviour of progress enrichment against slow and failing stub backends
+ */
+class SessionProgressEnrichmentTests {
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(300);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserDirectoryClient userDirectoryClient;
+    private SessionProgressEnricher enricher;
+
+    @AfterEach
+    void tearDown() {
+        if (enricher != null) {
+            enricher.shutdown();
+        }
+        if (userDirectoryClient != null) {
+            userDirectoryClient.shutdown();
+        }
+    }
+
+    @Test
+    void slowDependenciesAreAwaitedInParallel() {
+        UUID completedTaskId = UUID.randomUUID();
+        enricher = enricher(BACKEND_LATENCY, sessionId -> {
+            sleep(BACKEND_LATENCY);
+            return Set.of(completedTaskId);
+        }, Duration.ofSeconds(2));
+        SessionProgressDTO progress = progress(3, 2);
+
+        long startedAt = System.nanoTime();
+        enricher.enrich(progress);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Bounded by the slower call, not the sum of both
+        assertTrue(elapsedMillis < BACKEND_LATENCY.toMillis() * 2 - 100, "took " + elapsedMillis + " ms");
+        assertFalse(progress.getPartial());
+        assertEquals(List.of(completedTaskId), progress.getCompletedTaskIds());
+        assertEquals(1, progress.getTasksCompleted());
+        assertEquals(3, progress.getParticipants().size());
+        for (UserSummaryDTO participant : progress.getParticipants()) {
+            assertEquals("user_" + participant.getUserId().toString().substring(0, 8), participant.getUsername());
+        }
+    }
+
+    @Test
+    void dependencyPastItsDeadlineYieldsPartialResult() {
+        enricher = enricher(Duration.ZERO, sessionId -> {
+            sleep(Duration.ofSeconds(5));
+            return Set.of(UUID.randomUUID());
+        }, Duration.ofMillis(100));
+        SessionProgressDTO progress = progress(2, 4);
+
+        long startedAt = System.nanoTime();
+        enricher.enrich(progress);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + " ms");
+        assertTrue(progress.getPartial());
+        assertEquals(0, progress.getTasksCompleted());
+        assertTrue(progress.getCompletedTaskIds().isEmpty());
+        assertEquals(2, progress.getParticipants().size());
+        assertEquals(1.0, fallbacks("task-directory"));
+        assertEquals(0.0, fallbacks("user-directory"));
+    }
+
+    @Test
+    void failingDependencyFallsBackToParticipantIds() {
+        UserDirectoryProperties properties = new UserDirectoryProperties();
+        userDirectoryClient = new UserDirectoryClient(userIds -> {
+            throw new IllegalStateException("user-service down");
+        }, properties, meterRegistry);
+        enricher = new SessionProgressEnricher(userDirectoryClient, sessionId -> Set.of(),
+                enrichmentProperties(Duration.ofSeconds(1)), meterRegistry);
+        SessionProgressDTO progress = progress(2, 1);
+
+        enricher.enrich(progress);
+
+        assertTrue(progress.getPartial());
+        assertEquals(progress.getActiveParticipants(),
+                progress.getParticipants().stream().map(UserSummaryDTO::getUserId).toList());
+        progress.getParticipants().forEach(participant -> assertNull(participant.getUsername()));
+        assertEquals(1.0, fallbacks("user-directory"));
+    }
+
+    @Test
+    void taskServiceIsNotCalledForSessionsWithoutTasks() {
+        enricher = enricher(Duration.ZERO, sessionId -> {
+            throw new AssertionError("task-service must not be called");
+        }, Duration.ofSeconds(1));
+        SessionProgressDTO progress = progress(1, 0);
+
+        enricher.enrich(progress);
+
+        assertFalse(progress.getPartial());
+        assertEquals(0, progress.getTasksCompleted());
+    }
+
+    private SessionProgressEnricher enricher(Duration userLatency, TaskDirectoryBackend taskBackend, Duration deadline) {
+        UserDirectoryProperties properties = new UserDirectoryProperties();
+        properties.setStubLatency(userLatency);
+        userDirectoryClient = new UserDirectoryClient(new StubUserDirectoryBackend(properties), properties, meterRegistry);
+        return new SessionProgressEnricher(userDirectoryClient, taskBackend, enrichmentProperties(deadline), meterRegistry);
+    }
+
+    private ProgressEnrichmentProperties enrichmentProperties(Duration deadline) {
+        ProgressEnrichmentProperties properties = new ProgressEnrichmentProperties();
+        properties.setUserDirectoryDeadline(deadline);
+        properties.setTaskDirectoryDeadline(deadline);
+        return properties;
+    }
+
+    private SessionProgressDTO progress(int participants, int totalTasks) {
+        SessionProgressDTO progress = new SessionProgressDTO();
+        progress.setSessionId(UUID.randomUUID());
+        progress.setActiveParticipants(Stream.generate(UUID::randomUUID).limit(participants).toList());
+        progress.setTotalTasks(totalTasks);
+        return progress;
+    }
+
+    private double fallbacks(String source) {
+        return meterRegistry.counter("session.progress.enrichment.fallbacks", "source", source).count();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
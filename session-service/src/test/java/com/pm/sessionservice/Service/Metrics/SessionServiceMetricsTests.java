@@ -0,0 +1,134 @@
+package com.pm.sessionservice.Service.Metrics;
+
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.ParticipantRole;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionParticipant;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "session.metrics.gauge-refresh-interval=1h")
+class SessionServiceMetricsTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private LiveSessionGauges liveSessionGauges;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void callsAreTimedAndTheirStatementsCounted() {
+        UUID ownerId = UUID.randomUUID();
+        Session session = saveSession(ownerId, false);
+        long callsBefore = timerCount("getSessionProgress", "success");
+        double statementsBefore = statementTotal("getSessionProgress");
+        long statementCallsBefore = statementCount("getSessionProgress");
+
+        sessionService.getSessionProgress(session.getSessionId(), ownerId);
+        sessionService.getSessionProgress(session.getSessionId(), ownerId);
+
+        assertEquals(callsBefore + 2, timerCount("getSessionProgress", "success"));
+        assertEquals(statementCallsBefore + 2, statementCount("getSessionProgress"));
+        // The progress read path is one statement per call
+        assertEquals(statementsBefore + 2, statementTotal("getSessionProgress"));
+    }
+
+    @Test
+    void failuresAreCountedByExceptionType() {
+        Session session = saveSession(UUID.randomUUID(), false);
+        double errorsBefore = errorCount("getSessionProgress", "SessionAccessDeniedException");
+        long failedBefore = timerCount("getSessionProgress", "error");
+
+        assertThrows(SessionAccessDeniedException.class,
+                () -> sessionService.getSessionProgress(session.getSessionId(), UUID.randomUUID()));
+
+        assertEquals(errorsBefore + 1, errorCount("getSessionProgress", "SessionAccessDeniedException"));
+        assertEquals(failedBefore + 1, timerCount("getSessionProgress", "error"));
+    }
+
+    @Test
+    void gaugesReflectLiveSessionsAfterRefresh() {
+        liveSessionGauges.refresh();
+        double active = gauge("session.active");
+        double live = gauge("session.participants.live");
+        double waiting = gauge("session.waiting-for-break-selection");
+
+        Session running = saveSession(UUID.randomUUID(), false);
+        Session waitingForBreak = saveSession(UUID.randomUUID(), true);
+        addParticipant(running.getSessionId(), true);
+        addParticipant(running.getSessionId(), false);
+        addParticipant(waitingForBreak.getSessionId(), true);
+        liveSessionGauges.refresh();
+
+        assertEquals(active + 2, gauge("session.active"));
+        assertEquals(live + 2, gauge("session.participants.live"));
+        assertEquals(waiting + 1, gauge("session.waiting-for-break-selection"));
+    }
+
+    private long timerCount(String method, String outcome) {
+        Timer timer = meterRegistry.find("session.service.calls").tags("method", method, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long statementCount(String method) {
+        DistributionSummary summary = meterRegistry.find("session.service.statements").tag("method", method).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private double statementTotal(String method) {
+        DistributionSummary summary = meterRegistry.find("session.service.statements").tag("method", method).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private double errorCount(String method, String exception) {
+        var counter = meterRegistry.find("session.service.errors").tags("method", method, "exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double gauge(String name) {
+        var gauge = meterRegistry.find(name).gauge();
+        assertNotNull(gauge, name);
+        return gauge.value();
+    }
+
+    private Session saveSession(UUID ownerId, boolean waitingForBreakSelection) {
+        Session session = SessionFixtures.activeSession(ownerId);
+        session.setIsWaitingForBreakSelection(waitingForBreakSelection);
+        return sessionRepository.save(session);
+    }
+
+    private void addParticipant(UUID sessionId, boolean inRoom) {
+        SessionParticipant participant = new SessionParticipant();
+        participant.setSessionId(sessionId);
+        participant.setUserId(UUID.randomUUID());
+        participant.setJoinedAt(LocalDateTime.now());
+        participant.setRole(ParticipantRole.PARTICIPANT);
+        participant.setIsActive(true);
+        participant.setIsCurrentlyInSession(inRoom);
+        sessionParticipantRepository.save(participant);
+    }
+}
@@ -0,0 +1,129 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTests {
+
+    private HashedTimingWheel wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    @Test
+    void timeoutFiresOnceAndCannotBeCancelledAfterwards() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(() -> {
+            fired.incrementAndGet();
+            done.countDown();
+        }, Duration.ofMillis(30));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(1, fired.get());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, Duration.ofMillis(50));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(200);
+        assertEquals(0, fired.get());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelRacingExpiryResolvesEachTimeoutExactlyOnce() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(1), 64, Runnable::run);
+        int count = 5_000;
+        AtomicIntegerArray runs = new AtomicIntegerArray(count);
+        List<HashedTimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            timeouts.add(wheel.schedule(() -> runs.incrementAndGet(index), Duration.ofMillis(i % 5)));
+        }
+        int cancelled = 0;
+        for (HashedTimingWheel.Timeout timeout : timeouts) {
+            if (timeout.cancel()) {
+                cancelled++;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wheel.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        int expired = 0;
+        for (int i = 0; i < count; i++) {
+            assertTrue(runs.get(i) <= 1, "timeout " + i + " ran twice");
+            expired += runs.get(i);
+        }
+        assertEquals(count, expired + cancelled);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBeyondOneRevolutionWaitsForItsRound() throws InterruptedException {
+        // 4 buckets of 10ms: one revolution is 40ms, the deadline is three revolutions out
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 4, Runnable::run);
+        AtomicLong firedAfterMillis = new AtomicLong(-1);
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(() -> {
+            firedAfterMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            done.countDown();
+        }, Duration.ofMillis(120));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAfterMillis.get() >= 120, "fired after " + firedAfterMillis.get() + "ms");
+    }
+
+    @Test
+    void deadlineInThePastFiresOnTheNextTick() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+        CountDownLatch done = new CountDownLatch(1);
+        wheel.schedule(done::countDown, Duration.ofMinutes(-5));
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void schedulingAfterCloseIsDroppedWithoutFailing() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+        wheel.close();
+        AtomicInteger fired = new AtomicInteger();
+
+        HashedTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, Duration.ZERO);
+
+        Thread.sleep(50);
+        assertFalse(timeout.cancel());
+        assertEquals(0, fired.get());
+        assertEquals(0, wheel.size());
+    }
+}
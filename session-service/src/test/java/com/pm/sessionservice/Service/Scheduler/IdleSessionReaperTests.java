@@ -0,0 +1,85 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Cache.ActiveSessionRegistry;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sweeps are driven by the test; small chunks so a sweep spans several transactions
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reaper;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "session.reaper.sweep-interval=1h",
+        "session.reaper.idle-timeout=12h",
+        "session.reaper.chunk-size=2"
+})
+class IdleSessionReaperTests {
+
+    @Autowired
+    private IdleSessionReaper idleSessionReaper;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ActiveSessionRegistry activeSessionRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentSweepsEndEveryIdleSessionExactlyOnce() {
+        List<Session> idle = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            idle.add(saveIdleSession(i % 3 == 0 ? SessionStatus.PAUSED : SessionStatus.ACTIVE, 13));
+        }
+        Session fresh = saveIdleSession(SessionStatus.ACTIVE, 0);
+        Session finished = saveIdleSession(SessionStatus.COMPLETED, 13);
+        assertTrue(activeSessionRegistry.hasActiveSession(idle.get(1).getOwnerId()));
+
+        // Two replicas sweeping at once split the chunks between them
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(idleSessionReaper::sweep);
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(idleSessionReaper::sweep);
+        assertEquals(idle.size(), first.join() + second.join());
+        assertEquals(0, idleSessionReaper.sweep());
+
+        for (Session session : idle) {
+            Session stored = sessionRepository.findById(session.getSessionId()).orElseThrow();
+            assertEquals(SessionStatus.COMPLETED, stored.getStatus());
+            assertTrue(stored.getEndTime() != null);
+            // Started 14h ago, ended now: same duration accounting as endSession
+            assertEquals(14 * 60, stored.getTotalSessionDurationMinutes());
+        }
+        assertFalse(activeSessionRegistry.hasActiveSession(idle.get(1).getOwnerId()));
+        assertEquals(SessionStatus.ACTIVE, sessionRepository.findById(fresh.getSessionId()).orElseThrow().getStatus());
+        assertEquals(null, sessionRepository.findById(finished.getSessionId()).orElseThrow().getEndTime());
+    }
+
+    private Session saveIdleSession(SessionStatus status, int idleHours) {
+        Session session = SessionFixtures.activeSession(UUID.randomUUID());
+        session.setSessionName("Abandoned");
+        session.setStatus(status);
+        session.setStartTime(LocalDateTime.now().minusHours(idleHours + 1).withNano(0));
+        session.setCurrentPhaseStartTime(session.getStartTime());
+        Session saved = sessionRepository.save(session);
+        // updated_at is maintained by the entity, so age it behind its back
+        jdbcTemplate.update("UPDATE sessions SET updated_at = ? WHERE session_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(idleHours)), saved.getSessionId());
+        return saved;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Cache.SessionCache;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PhaseSchedulerTests {
+
+    @Autowired
+    private PhaseScheduler phaseScheduler;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void expiredWorkPhaseIsCompletedExactlyOnceUnderConcurrentDeadlines() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        // The phase started 30 minutes ago: its 25-minute deadline has passed
+        jdbcTemplate.update("UPDATE sessions SET current_phase_start_time = ? WHERE session_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(30)), sessionId);
+
+        // Several replicas (or a retried tick) hitting the same deadline at once
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(CompletableFuture.supplyAsync(() -> phaseScheduler.expirePhase(sessionId, 25)));
+        }
+        long completed = attempts.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+
+        assertEquals(1, completed);
+        Session stored = sessionRepository.findById(sessionId).orElseThrow();
+        assertEquals(1, stored.getTotalWorkSessionsCompleted());
+        assertTrue(stored.getIsWaitingForBreakSelection());
+        // The expiry wrote the new row through the cache
+        assertTrue(sessionCache.get(sessionId).orElseThrow().getIsWaitingForBreakSelection());
+    }
+
+    @Test
+    void phaseThatHasNotRunItsFullDurationIsLeftAlone() {
+        UUID sessionId = sessionService.createSession(newRequest(), UUID.randomUUID()).getSessionId();
+
+        assertFalse(phaseScheduler.expirePhase(sessionId, 25));
+        assertEquals(0, sessionRepository.findById(sessionId).orElseThrow().getTotalWorkSessionsCompleted());
+    }
+
+    @Test
+    void deadlineChangesApplyOnlyWhenTheWriteCommits() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+        assertTrue(phaseScheduler.hasDeadline(sessionId));
+
+        // A pause that rolls back must not cancel the running phase's deadline
+        transactionTemplate.executeWithoutResult(status -> {
+            Session paused = sessionRepository.findById(sessionId).orElseThrow();
+            paused.setStatus(SessionStatus.PAUSED);
+            phaseScheduler.schedule(paused);
+            status.setRollbackOnly();
+        });
+        assertTrue(phaseScheduler.hasDeadline(sessionId));
+
+        sessionService.pauseSession(sessionId, ownerId);
+        assertFalse(phaseScheduler.hasDeadline(sessionId));
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package com.pm.sessionservice.Service.Scheduler;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Service.Cache.ActiveSessionRegistry;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Polls are driven by the test; small batches so a poll spans several transactions
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scheduled;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "session.scheduled.poll-interval=1h",
+        "session.scheduled.batch-size=3"
+})
+class ScheduledSessionActivatorTests {
+
+    @Autowired
+    private ScheduledSessionActivator scheduledSessionActivator;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ActiveSessionRegistry activeSessionRegistry;
+
+    @Autowired
+    private PhaseScheduler phaseScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentPollsStartEveryDueSessionExactlyOnce() {
+        List<UUID> owners = new ArrayList<>();
+        List<UUID> due = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID ownerId = UUID.randomUUID();
+            owners.add(ownerId);
+            due.add(schedule(ownerId).getSessionId());
+        }
+        UUID later = schedule(UUID.randomUUID()).getSessionId();
+
+        // Nothing is due yet: a scheduled session does not make its owner active
+        assertEquals(0, scheduledSessionActivator.poll());
+        assertFalse(activeSessionRegistry.hasActiveSession(owners.get(0)));
+        due.forEach(this::makeDue);
+
+        // Two replicas polling at once split the batches between them
+        long phasesBefore = phaseScheduler.scheduledCount();
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(scheduledSessionActivator::poll);
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(scheduledSessionActivator::poll);
+        assertEquals(due.size(), first.join() + second.join());
+        assertEquals(0, scheduledSessionActivator.poll());
+
+        for (int i = 0; i < due.size(); i++) {
+            Session stored = sessionRepository.findById(due.get(i)).orElseThrow();
+            assertEquals(SessionStatus.ACTIVE, stored.getStatus());
+            assertEquals(SessionType.WORK, stored.getCurrentType());
+            assertNotNull(stored.getStartTime());
+            assertFalse(stored.getStartTime().isBefore(stored.getScheduledTime()));
+            assertTrue(activeSessionRegistry.hasActiveSession(owners.get(i)));
+        }
+        assertEquals(phasesBefore + due.size(), phaseScheduler.scheduledCount());
+        assertEquals(SessionStatus.SCHEDULED, sessionRepository.findById(later).orElseThrow().getStatus());
+    }
+
+    @Test
+    void endingAScheduledSessionCancelsIt() {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO scheduled = schedule(ownerId);
+        assertEquals(SessionStatus.SCHEDULED, scheduled.getStatus());
+        assertNull(scheduled.getStartTime());
+
+        sessionService.endSession(scheduled.getSessionId(), ownerId, null);
+        makeDue(scheduled.getSessionId());
+        scheduledSessionActivator.poll();
+
+        Session stored = sessionRepository.findById(scheduled.getSessionId()).orElseThrow();
+        assertEquals(SessionStatus.CANCELLED, stored.getStatus());
+        assertNull(stored.getStartTime());
+    }
+
+    private SessionResponseDTO schedule(UUID ownerId) {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Morning focus");
+        request.setScheduledTime(LocalDateTime.now().plusHours(1));
+        return sessionService.createSession(request, ownerId);
+    }
+
+    // scheduled_time is validated as future on create, so move it into the past behind the service's back
+    private void makeDue(UUID sessionId) {
+        jdbcTemplate.update("UPDATE sessions SET scheduled_time = ? WHERE session_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), sessionId);
+    }
+}
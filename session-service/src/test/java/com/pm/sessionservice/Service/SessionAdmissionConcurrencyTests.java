@@ -0,0 +1,122 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.Exception.InvalidSessionDataException;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single session from many threads through joinSession/leaveSession and
+ * checks that admission never overshoots capacity and the slot counter always
+ * matches the participant rows. Throughput is measured by SessionAdmissionBenchmark.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class SessionAdmissionConcurrencyTests {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Test
+    void concurrentJoinsNeverExceedCapacity() throws Exception {
+        Session session = saveSession(8);
+        int joinsPerThread = 4;
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < joinsPerThread; i++) {
+                try {
+                    sessionService.joinSession(session.getSessionId(), UUID.randomUUID(), session.getInviteCode());
+                    admitted.incrementAndGet();
+                } catch (SessionAccessDeniedException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        Session stored = sessionRepository.findById(session.getSessionId()).orElseThrow();
+        // The owner holds the first of the 8 slots
+        assertEquals(7, admitted.get());
+        assertEquals(THREADS * joinsPerThread - 7, rejected.get());
+        assertEquals(8, stored.getCurrentParticipantCount());
+        assertEquals(7, sessionParticipantRepository.countActiveParticipantsBySessionId(session.getSessionId()));
+    }
+
+    @Test
+    void concurrentJoinLeaveChurnKeepsCounterConsistent() throws Exception {
+        Session session = saveSession(10);
+        int roundsPerThread = 5;
+
+        runConcurrently(() -> {
+            UUID userId = UUID.randomUUID();
+            for (int i = 0; i < roundsPerThread; i++) {
+                try {
+                    sessionService.joinSession(session.getSessionId(), userId, session.getInviteCode());
+                    sessionService.leaveSession(session.getSessionId(), userId);
+                } catch (SessionAccessDeniedException | InvalidSessionDataException e) {
+                    // Room full, or leaving would drop below the minimum: both are expected under churn
+                }
+            }
+        });
+
+        Session stored = sessionRepository.findById(session.getSessionId()).orElseThrow();
+        int activeRows = sessionParticipantRepository.countActiveParticipantsBySessionId(session.getSessionId());
+        assertTrue(stored.getCurrentParticipantCount() <= stored.getMaxParticipants());
+        assertEquals(activeRows + 1, stored.getCurrentParticipantCount());
+    }
+
+    private void runConcurrently(Runnable worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                worker.run();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Session saveSession(int maxParticipants) {
+        Session session = SessionFixtures.activeSession(UUID.randomUUID());
+        session.setSessionName("Popular room");
+        session.setMaxParticipants(maxParticipants);
+        return sessionRepository.save(session);
+    }
+}
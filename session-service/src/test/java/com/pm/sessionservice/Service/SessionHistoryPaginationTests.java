@@ -0,0 +1,145 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.DTO.SessionHistoryPageDTO;
+import com.pm.sessionservice.DTO.SessionSummaryDTO;
+import com.pm.sessionservice.Exception.InvalidSessionDataException;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionTaskRepository;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.ParticipantRole;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionParticipant;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionTask;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statistics are global to the session factory, so the outbox relay must not poll during a measurement
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "session.outbox.poll-interval=1h",
+        "session.scheduled.poll-interval=1h"
+})
+class SessionHistoryPaginationTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private SessionTaskRepository sessionTaskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pagesCoverOwnedAndJoinedSessionsNewestFirstWithoutGapsOrDuplicates() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().withNano(0).minusDays(30);
+        List<Session> expected = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // Every third pair shares a start time so the session_id tie-breaker is exercised
+            expected.add(saveSession(userId, base.plusHours(i - i % 3), 3));
+        }
+        for (int i = 0; i < 11; i++) {
+            Session joined = saveSession(UUID.randomUUID(), base.plusMinutes(30 + 60L * i), 2);
+            addParticipant(joined, userId);
+            expected.add(joined);
+        }
+        Session deleted = saveSession(userId, base.plusDays(1), 0);
+        deleted.setIsDeleted(true);
+        sessionRepository.save(deleted);
+        saveSession(UUID.randomUUID(), base.plusDays(2), 0);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            SessionHistoryPageDTO page = sessionService.getSessionHistory(userId, cursor, 5);
+            // One statement per page, however deep, and no collection loads per row
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertTrue(page.getSessions().size() <= 5);
+            page.getSessions().stream().map(SessionSummaryDTO::getSessionId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(7, pages);
+        assertEquals(expected.size(), seen.size());
+        Set<UUID> distinct = new HashSet<>(seen);
+        assertEquals(seen.size(), distinct.size());
+        assertTrue(distinct.containsAll(expected.stream().map(Session::getSessionId).toList()));
+        for (int i = 1; i < seen.size(); i++) {
+            LocalDateTime previous = findStartTime(expected, seen.get(i - 1));
+            LocalDateTime current = findStartTime(expected, seen.get(i));
+            assertTrue(!current.isAfter(previous), "history must be newest first");
+        }
+    }
+
+    @Test
+    void emptyHistoryAndInvalidInput() {
+        SessionHistoryPageDTO page = sessionService.getSessionHistory(UUID.randomUUID(), null, null);
+        assertTrue(page.getSessions().isEmpty());
+        assertNull(page.getNextCursor());
+
+        assertThrows(InvalidSessionDataException.class,
+                () -> sessionService.getSessionHistory(UUID.randomUUID(), "not-a-cursor", 10));
+        assertThrows(InvalidSessionDataException.class,
+                () -> sessionService.getSessionHistory(UUID.randomUUID(), null, 0));
+        assertThrows(InvalidSessionDataException.class,
+                () -> sessionService.getSessionHistory(UUID.randomUUID(), null, 1000));
+    }
+
+    private LocalDateTime findStartTime(List<Session> sessions, UUID sessionId) {
+        return sessions.stream()
+                .filter(session -> session.getSessionId().equals(sessionId))
+                .findFirst()
+                .orElseThrow()
+                .getStartTime();
+    }
+
+    private Session saveSession(UUID ownerId, LocalDateTime startTime, int taskCount) {
+        Session session = SessionFixtures.activeSession(ownerId, startTime);
+        session.setStatus(SessionStatus.COMPLETED);
+        Session saved = sessionRepository.save(session);
+        for (int i = 0; i < taskCount; i++) {
+            sessionTaskRepository.save(new SessionTask(saved.getSessionId(), UUID.randomUUID()));
+        }
+        return saved;
+    }
+
+    private void addParticipant(Session session, UUID userId) {
+        SessionParticipant participant = new SessionParticipant();
+        participant.setSessionId(session.getSessionId());
+        participant.setUserId(userId);
+        participant.setSessionStartTime(session.getStartTime());
+        participant.setJoinedAt(session.getStartTime());
+        participant.setRole(ParticipantRole.PARTICIPANT);
+        participant.setIsActive(false);
+        sessionParticipantRepository.save(participant);
+    }
+}
@@ -0,0 +1,74 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.DTO.UpdateSessionRequestDTO;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.OutboxEventRepository;
+import com.pm.sessionservice.Service.Event.SessionEventType;
+import com.pm.sessionservice.Service.Outbox.InProcessSessionEventSink;
+import com.pm.sessionservice.Service.Outbox.OutboxRelay;
+import com.pm.sessionservice.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SessionOutboxRelayTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InProcessSessionEventSink sink;
+
+    @Test
+    void sessionEventsAreRelayedInOrderAndRemovedFromTheOutbox() {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO session = sessionService.createSession(sessionRequest(), ownerId);
+        sessionService.updateSession(session.getSessionId(), updateRequest("Renamed"), ownerId);
+        sessionService.updateSession(session.getSessionId(), updateRequest("Renamed again"), ownerId);
+
+        // A rejected update rolls back its event together with the change
+        assertThrows(SessionAccessDeniedException.class,
+                () -> sessionService.updateSession(session.getSessionId(), updateRequest("Hijacked"), UUID.randomUUID()));
+
+        outboxRelay.drainOnce();
+
+        List<OutboxEvent> relayed = sink.getRecentEvents().stream()
+                .filter(event -> event.getAggregateId().equals(session.getSessionId()))
+                .toList();
+        assertEquals(List.of(SessionEventType.SESSION_CREATED, SessionEventType.SESSION_STARTED,
+                        SessionEventType.SESSION_UPDATED, SessionEventType.SESSION_UPDATED),
+                relayed.stream().map(OutboxEvent::getEventType).toList());
+        assertTrue(relayed.get(3).getPayload().contains("Renamed again"));
+        assertTrue(outboxEventRepository.findAll().stream()
+                .noneMatch(event -> event.getAggregateId().equals(session.getSessionId())));
+    }
+
+    private SessionRequestDTO sessionRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Deep work");
+        return request;
+    }
+
+    private UpdateSessionRequestDTO updateRequest(String name) {
+        UpdateSessionRequestDTO request = new UpdateSessionRequestDTO();
+        request.setSessionName(name);
+        return request;
+    }
+}
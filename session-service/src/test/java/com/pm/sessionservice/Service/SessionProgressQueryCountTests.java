@@ -0,0 +1,135 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.DTO.BreakSessionDTO;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.Exception.SessionAccessDeniedException;
+import com.pm.sessionservice.Repository.SessionParticipantRepository;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionTaskRepository;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.ParticipantRole;
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionParticipant;
+import com.pm.sessionservice.model.SessionTask;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statistics are global to the session factory, so the outbox relay must not poll during a measurement
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "session.outbox.poll-interval=1h",
+        "session.scheduled.poll-interval=1h"
+})
+class SessionProgressQueryCountTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private SessionTaskRepository sessionTaskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getSessionProgressIssuesOneStatementRegardlessOfParticipantsAndTasks() {
+        UUID ownerId = UUID.randomUUID();
+        Session session = saveSession(ownerId, 2);
+        UUID participantId = addParticipant(session.getSessionId());
+
+        assertEquals(1, countStatements(() -> sessionService.getSessionProgress(session.getSessionId(), ownerId)));
+        assertEquals(1, countStatements(() -> sessionService.getSessionProgress(session.getSessionId(), participantId)));
+
+        // Growing the room and the task list must not add statements
+        for (int i = 0; i < 5; i++) {
+            addParticipant(session.getSessionId());
+        }
+        addTasks(session.getSessionId(), 8);
+
+        SessionProgressDTO[] progress = new SessionProgressDTO[1];
+        assertEquals(1, countStatements(() ->
+                progress[0] = sessionService.getSessionProgress(session.getSessionId(), participantId)));
+        assertEquals(6, progress[0].getActiveParticipants().size());
+        assertEquals(10, progress[0].getTotalTasks());
+    }
+
+    @Test
+    void getBreakOptionsIssuesOneStatement() {
+        UUID ownerId = UUID.randomUUID();
+        Session session = saveSession(ownerId, 3);
+        for (int i = 0; i < 4; i++) {
+            addParticipant(session.getSessionId());
+        }
+
+        BreakSessionDTO[] breakOptions = new BreakSessionDTO[1];
+        assertEquals(1, countStatements(() ->
+                breakOptions[0] = sessionService.getBreakOptions(session.getSessionId(), ownerId)));
+        assertEquals(3, breakOptions[0].getTasks());
+    }
+
+    @Test
+    void strangerIsDeniedAfterOneStatement() {
+        Session session = saveSession(UUID.randomUUID(), 0);
+        UUID strangerId = UUID.randomUUID();
+
+        statistics.clear();
+        assertThrows(SessionAccessDeniedException.class,
+                () -> sessionService.getSessionProgress(session.getSessionId(), strangerId));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements > 0, "expected the call to hit the database");
+        return statements;
+    }
+
+    private Session saveSession(UUID ownerId, int taskCount) {
+        Session saved = sessionRepository.save(SessionFixtures.activeSession(ownerId));
+        addTasks(saved.getSessionId(), taskCount);
+        return saved;
+    }
+
+    private void addTasks(UUID sessionId, int taskCount) {
+        for (int i = 0; i < taskCount; i++) {
+            sessionTaskRepository.save(new SessionTask(sessionId, UUID.randomUUID()));
+        }
+    }
+
+    private UUID addParticipant(UUID sessionId) {
+        SessionParticipant participant = new SessionParticipant();
+        participant.setSessionId(sessionId);
+        participant.setUserId(UUID.randomUUID());
+        participant.setJoinedAt(LocalDateTime.now());
+        participant.setRole(ParticipantRole.PARTICIPANT);
+        participant.setIsActive(true);
+        return sessionParticipantRepository.save(participant).getUserId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.pm.sessionservice.Service;
+
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Exception.InvalidSessionDataException;
+import com.pm.sessionservice.Repository.SessionRepository;
+import com.pm.sessionservice.Repository.SessionTaskRepository;
+import com.pm.sessionservice.SessionFixtures;
+import com.pm.sessionservice.model.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class SessionTaskMembershipTests {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionTaskRepository sessionTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void addAndRemoveWriteSingleRowsAndRejectNoOps() {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = saveSession(ownerId).getSessionId();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        SessionResponseDTO response = sessionService.addTaskToSession(sessionId, first, ownerId, false);
+        assertNull(response.getTaskIds());
+        response = sessionService.addTaskToSession(sessionId, second, ownerId, true);
+        assertEquals(Set.of(first, second), Set.copyOf(response.getTaskIds()));
+        assertEquals(2, sessionTaskRepository.countBySessionId(sessionId));
+
+        // The repository write is idempotent; the service still reports the duplicate
+        assertEquals(Integer.valueOf(0), transactionTemplate.execute(status -> sessionTaskRepository.addTask(sessionId, first)));
+        assertThrows(InvalidSessionDataException.class,
+                () -> sessionService.addTaskToSession(sessionId, first, ownerId, false));
+        assertEquals(2, countRows(sessionId));
+
+        response = sessionService.removeTaskFromSession(sessionId, first, ownerId, true);
+        assertEquals(List.of(second), response.getTaskIds());
+        assertThrows(InvalidSessionDataException.class,
+                () -> sessionService.removeTaskFromSession(sessionId, first, ownerId, false));
+        assertEquals(List.of(second), sessionService.getSessionTasks(sessionId, ownerId));
+        assertEquals(1, sessionService.getSessionProgress(sessionId, ownerId).getTotalTasks());
+    }
+
+    @Test
+    void concurrentAddsOfTheSameTaskInsertOneRow() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = saveSession(ownerId).getSessionId();
+        UUID taskId = UUID.randomUUID();
+        int callers = 8;
+        CyclicBarrier start = new CyclicBarrier(callers);
+        List<CompletableFuture<Boolean>> adds = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            adds.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    sessionService.addTaskToSession(sessionId, taskId, ownerId, false);
+                    return true;
+                } catch (InvalidSessionDataException duplicate) {
+                    return false;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+
+        // Every loser sees the duplicate; none surfaces a primary-key violation
+        long added = 0;
+        for (CompletableFuture<Boolean> add : adds) {
+            if (add.get(30, TimeUnit.SECONDS)) {
+                added++;
+            }
+        }
+        assertEquals(1, added);
+        assertEquals(1, countRows(sessionId));
+    }
+
+    @Test
+    void currentSessionIncludesTaskIdsOnlyWhenAsked() {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO created = sessionService.createSession(newRequest(), ownerId);
+        UUID taskId = UUID.randomUUID();
+        sessionService.addTaskToSession(created.getSessionId(), taskId, ownerId, false);
+
+        assertNull(sessionService.getCurrentActiveSession(ownerId, false).getTaskIds());
+        assertEquals(List.of(taskId), sessionService.getCurrentActiveSession(ownerId, true).getTaskIds());
+    }
+
+    private int countRows(UUID sessionId) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM session_tasks WHERE session_id = ?", Integer.class, sessionId);
+        return rows == null ? 0 : rows;
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+
+    private Session saveSession(UUID ownerId) {
+        return sessionRepository.save(SessionFixtures.activeSession(ownerId));
+    }
+}
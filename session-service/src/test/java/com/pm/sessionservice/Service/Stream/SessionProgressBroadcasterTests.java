@@ -0,0 +1,156 @@
+package com.pm.sessionservice.Service.Stream;
+
+import com.pm.sessionservice.Config.ProgressStreamProperties;
+import com.pm.sessionservice.DTO.SessionProgressDTO;
+import com.pm.sessionservice.DTO.SessionRequestDTO;
+import com.pm.sessionservice.DTO.SessionResponseDTO;
+import com.pm.sessionservice.Service.Event.SessionChangedEvent;
+import com.pm.sessionservice.Service.SessionService;
+import com.pm.sessionservice.model.SessionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionProgressBroadcasterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionProgressBroadcaster progressBroadcaster;
+
+    @Test
+    void subscriberGetsASnapshotThenDeltasAndTheStreamEndsWithTheSession() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID sessionId = sessionService.createSession(newRequest(), ownerId).getSessionId();
+
+        MvcResult stream = mockMvc.perform(get("/api/sessions/" + sessionId + "/progress/stream").header("X-User-ID", ownerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stream, body -> body.contains("event:snapshot"));
+        assertEquals(1, progressBroadcaster.subscriberCount());
+
+        sessionService.addTaskToSession(sessionId, UUID.randomUUID(), ownerId, false);
+        awaitContent(stream, body -> body.contains("event:delta") && body.contains("\"totalTasks\":1"));
+        // The snapshot always comes before any delta
+        String body = stream.getResponse().getContentAsString();
+        assertTrue(body.indexOf("event:snapshot") < body.indexOf("event:delta"));
+
+        sessionService.endSession(sessionId, ownerId, null);
+        awaitContent(stream, content -> content.contains("\"status\":\"COMPLETED\""));
+        stream.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(0, progressBroadcaster.subscriberCount());
+    }
+
+    @Test
+    void removedParticipantStopsReceivingDeltas() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        SessionResponseDTO session = sessionService.createSession(newRequest(), ownerId);
+        UUID sessionId = session.getSessionId();
+        UUID participantId = UUID.randomUUID();
+        sessionService.joinSession(sessionId, participantId, session.getInviteCode());
+
+        MvcResult ownerStream = openStream(sessionId, ownerId);
+        MvcResult participantStream = openStream(sessionId, participantId);
+        assertEquals(2, progressBroadcaster.subscriberCount());
+
+        sessionService.removeUser(sessionId, participantId, ownerId);
+        participantStream.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(1, progressBroadcaster.subscriberCount());
+
+        // The owner keeps streaming; the removed participant sees nothing after removal
+        String participantBody = participantStream.getResponse().getContentAsString();
+        sessionService.addTaskToSession(sessionId, UUID.randomUUID(), ownerId, false);
+        awaitContent(ownerStream, body -> body.contains("\"totalTasks\":1"));
+        assertEquals(participantBody, participantStream.getResponse().getContentAsString());
+
+        sessionService.endSession(sessionId, ownerId, null);
+        ownerStream.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    void burstOfChangesIsCoalescedWhileARefreshIsRunning() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+        SessionService service = mock(SessionService.class);
+        when(service.getSessionProgress(any(), any())).thenReturn(progress(sessionId, 0));
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        when(service.getSessionProgressSnapshot(sessionId)).thenAnswer(invocation -> {
+            refreshes.incrementAndGet();
+            refreshStarted.countDown();
+            releaseRefresh.await(5, TimeUnit.SECONDS);
+            return progress(sessionId, 1);
+        });
+        SessionProgressBroadcaster broadcaster = new SessionProgressBroadcaster(service, new ProgressStreamProperties());
+        try {
+            broadcaster.subscribe(sessionId, UUID.randomUUID());
+
+            broadcaster.onSessionChanged(SessionChangedEvent.builder().sessionId(sessionId).build());
+            assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+            // While the first refresh runs, fifty more changes arrive: they share a single follow-up refresh
+            for (int i = 0; i < 50; i++) {
+                broadcaster.onSessionChanged(SessionChangedEvent.builder().sessionId(sessionId).build());
+            }
+            releaseRefresh.countDown();
+
+            Thread.sleep(300);
+            assertEquals(2, refreshes.get());
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    private MvcResult openStream(UUID sessionId, UUID userId) throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/sessions/" + sessionId + "/progress/stream").header("X-User-ID", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stream, body -> body.contains("event:snapshot"));
+        return stream;
+    }
+
+    private void awaitContent(MvcResult result, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.test(result.getResponse().getContentAsString())) {
+            assertTrue(System.nanoTime() < deadline, "stream content: " + result.getResponse().getContentAsString());
+            Thread.sleep(20);
+        }
+    }
+
+    private SessionProgressDTO progress(UUID sessionId, int totalTasks) {
+        SessionProgressDTO progress = new SessionProgressDTO();
+        progress.setSessionId(sessionId);
+        progress.setStatus(SessionStatus.ACTIVE);
+        progress.setTotalTasks(totalTasks);
+        return progress;
+    }
+
+    private SessionRequestDTO newRequest() {
+        SessionRequestDTO request = new SessionRequestDTO();
+        request.setOwnerUsername("owner");
+        request.setSessionName("Focus");
+        return request;
+    }
+}
@@ -0,0 +1,159 @@
+package com.pm.sessionservice.Service.User;
+
+import com.pm.sessionservice.Config.UserDirectoryProperties;
+import com.pm.sessionservice.Exception.UserDirectoryUnavailableException;
+import com.pm.sessionservice.Exception.UserNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coalescing and batching of the user-directory client against the stub backend;
+ * throughput is measured by UserDirectoryClientBenchmark
+ */
+class UserDirectoryClientTests {
+
+    private UserDirectoryClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentLookupsOfOneUserShareOneCall() throws Exception {
+        UserDirectoryProperties properties = properties(Duration.ZERO);
+        StubUserDirectoryBackend stub = new StubUserDirectoryBackend(properties);
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        client = new UserDirectoryClient(userIds -> {
+            calls.incrementAndGet();
+            called.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stub.getUsersByIds(userIds);
+        }, properties, new SimpleMeterRegistry());
+
+        UUID userId = UUID.randomUUID();
+        List<Future<String>> lookups = runConcurrently(16, () -> client.getUsername(userId));
+        assertTrue(called.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        for (Future<String> lookup : lookups) {
+            assertEquals("user_" + userId.toString().substring(0, 8), lookup.get(10, TimeUnit.SECONDS));
+        }
+        // Callers that arrived while the call was in flight joined it rather than issuing their own
+        assertEquals(1, calls.get());
+        assertEquals(1, stub.getLookedUpIds());
+    }
+
+    @Test
+    void concurrentLookupsAreCoalescedAndBatched() throws Exception {
+        UserDirectoryProperties properties = properties(Duration.ofMillis(5));
+        properties.setMaxBatchSize(50);
+        StubUserDirectoryBackend backend = new StubUserDirectoryBackend(properties);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        client = new UserDirectoryClient(backend, properties, meterRegistry);
+
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        Set<UUID> requested = ConcurrentHashMap.newKeySet();
+        List<Future<String>> lookups = runConcurrently(16, () -> {
+            for (int i = 0; i < 50; i++) {
+                UUID userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+                requested.add(userId);
+                assertEquals("user_" + userId.toString().substring(0, 8), client.getUsername(userId));
+            }
+            return null;
+        });
+        for (Future<String> lookup : lookups) {
+            lookup.get(1, TimeUnit.MINUTES);
+        }
+
+        // Every ID that was asked for crossed the wire exactly once, in batches no larger than configured
+        DistributionSummary batchSizes = meterRegistry.get("user.directory.batch.size").summary();
+        assertEquals(requested.size(), backend.getLookedUpIds());
+        assertEquals(backend.getCalls(), batchSizes.count());
+        assertEquals(backend.getLookedUpIds(), (long) batchSizes.totalAmount());
+        assertTrue(batchSizes.max() <= 50);
+        assertTrue(backend.getCalls() < backend.getLookedUpIds() / 4, "expected batching, got " + backend.getCalls() + " calls");
+    }
+
+    @Test
+    void bulkLookupUsesOneCallForMisses() {
+        UserDirectoryProperties properties = properties(Duration.ZERO);
+        StubUserDirectoryBackend backend = new StubUserDirectoryBackend(properties);
+        client = new UserDirectoryClient(backend, properties, new SimpleMeterRegistry());
+
+        List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        Map<UUID, String> usernames = client.getUsernames(userIds);
+
+        assertEquals(3, usernames.size());
+        assertEquals(1, backend.getCalls());
+        client.getUsernames(userIds);
+        assertEquals(1, backend.getCalls());
+    }
+
+    @Test
+    void unknownUsersAndBackendFailuresSurfaceAsExceptions() {
+        UserDirectoryProperties properties = properties(Duration.ZERO);
+        client = new UserDirectoryClient(userIds -> Map.of(), properties, new SimpleMeterRegistry());
+        assertThrows(UserNotFoundException.class, () -> client.getUsername(UUID.randomUUID()));
+        client.shutdown();
+
+        client = new UserDirectoryClient(userIds -> {
+            throw new IllegalStateException("connection refused");
+        }, properties, new SimpleMeterRegistry());
+        assertThrows(UserDirectoryUnavailableException.class, () -> client.getUsername(UUID.randomUUID()));
+    }
+
+    private static <T> List<Future<T>> runConcurrently(int threads, Callable<T> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return futures;
+    }
+
+    private UserDirectoryProperties properties(Duration stubLatency) {
+        UserDirectoryProperties properties = new UserDirectoryProperties();
+        properties.setStubLatency(stubLatency);
+        return properties;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pm.sessionservice;
+
+import com.pm.sessionservice.model.Session;
+import com.pm.sessionservice.model.SessionStatus;
+import com.pm.sessionservice.model.SessionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Session rows for tests that seed the repository directly instead of going through the service.
+ */
+public final class SessionFixtures {
+
+    private SessionFixtures() {
+    }
+
+    /**
+     * An unsaved active session in its work phase, started now. Callers adjust
+     * whatever their scenario needs before saving it.
+     */
+    public static Session activeSession(UUID ownerId) {
+        LocalDateTime now = LocalDateTime.now();
+        Session session = new Session();
+        session.setOwnerId(ownerId);
+        // Matches the stub user directory's username resolution
+        session.setOwnerUsername("user_" + ownerId.toString().substring(0, 8));
+        session.setSessionName("Focus");
+        session.setStatus(SessionStatus.ACTIVE);
+        session.setCurrentType(SessionType.WORK);
+        session.setStartTime(now);
+        session.setCurrentPhaseStartTime(now);
+        session.setInviteCode(UUID.randomUUID().toString().substring(0, 8));
+        return session;
+    }
+
+    /**
+     * Same as {@link #activeSession(UUID)} with every timestamp set to {@code startTime}.
+     */
+    public static Session activeSession(UUID ownerId, LocalDateTime startTime) {
+        Session session = activeSession(ownerId);
+        session.setCreatedAt(startTime);
+        session.setUpdatedAt(startTime);
+        session.setStartTime(startTime);
+        session.setCurrentPhaseStartTime(startTime);
+        return session;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pm.taskservice.model;
 
+import com.pm.common.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -11,7 +12,7 @@ import java.util.UUID;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID taskId;
 
     @Column(unique = true, nullable = false)
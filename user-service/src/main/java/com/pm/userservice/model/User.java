@@ -1,6 +1,6 @@
 package com.pm.userservice.model;
 
-
+import com.pm.common.id.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +13,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    private UUID id = UUID.randomUUID();
+    private UUID id = UuidV7.next();
 
     @NotNull
     private String firstName;